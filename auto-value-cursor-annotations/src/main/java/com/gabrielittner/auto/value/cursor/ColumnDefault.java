@@ -0,0 +1,19 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+/**
+ * The value of a primitive property when its column is missing from the Cursor or {@code NULL}.
+ * The value is a literal of the property's type like {@code "0"}, {@code "-1.5"} or
+ * {@code "true"}.
+ */
+@Retention(SOURCE)
+@Target({METHOD, FIELD})
+public @interface ColumnDefault {
+    String value();
+}
@@ -0,0 +1,22 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+/**
+ * Chooses how a property with a built-in type that can be stored in more than one way is stored,
+ * for example {@code INTEGER} to store an enum by its ordinal instead of its name.
+ */
+@Retention(SOURCE)
+@Target({METHOD, FIELD})
+public @interface ColumnStorage {
+    StorageClass value();
+
+    enum StorageClass {
+        INTEGER, REAL, TEXT, BLOB
+    }
+}
@@ -0,0 +1,19 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+/**
+ * Canonicalizes the values of a {@code String} property with few distinct values, like a status
+ * or a country code, so that rows that are read with the same value share one instance. The
+ * generated reader keeps a table of up to {@link #size()} recently read values for the property.
+ */
+@Retention(SOURCE)
+@Target({METHOD, FIELD})
+public @interface Dedupe {
+    int size() default 64;
+}
@@ -0,0 +1,18 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+/**
+ * Reads and writes a property whose type is another {@code @AutoValue} class in the same package
+ * from the columns of its properties, with {@link #prefix()} added to their column names.
+ */
+@Retention(SOURCE)
+@Target({METHOD, FIELD})
+public @interface Embedded {
+    String prefix() default "";
+}
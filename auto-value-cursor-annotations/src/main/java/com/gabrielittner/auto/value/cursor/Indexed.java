@@ -0,0 +1,15 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+/** Adds a statement that creates an index on the column to the generated {@code CREATE_INDICES}. */
+@Retention(SOURCE)
+@Target({METHOD, FIELD})
+public @interface Indexed {
+    boolean unique() default false;
+}
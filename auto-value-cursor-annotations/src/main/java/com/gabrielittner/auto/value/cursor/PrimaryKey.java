@@ -0,0 +1,19 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+/**
+ * Makes the column part of the primary key in the generated {@code CREATE_TABLE} statement. When
+ * several properties are annotated they form a composite primary key in declaration order.
+ */
+@Retention(SOURCE)
+@Target({METHOD, FIELD})
+public @interface PrimaryKey {
+    /** Adds {@code AUTOINCREMENT}, only allowed for a single {@code INTEGER} primary key. */
+    boolean autoIncrement() default false;
+}
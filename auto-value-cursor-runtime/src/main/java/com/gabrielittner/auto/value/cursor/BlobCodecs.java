@@ -0,0 +1,222 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encodes and decodes the BLOB columns of built-in types that are stored in a compact binary
+ * format, used by the generated code.
+ *
+ * <p>Arrays and lists start with their element count as a 4 byte big-endian int followed by the
+ * big-endian elements. Every string in a list is prefixed with the 4 byte length of its UTF-8
+ * bytes. Lists can't contain {@code null}, decoded lists are unmodifiable.
+ */
+public final class BlobCodecs {
+
+    private static final int UUID_SIZE = 16;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /** Decodes a {@link UUID} that was stored as its 16 big-endian bytes. */
+    public static UUID decodeUuid(byte[] blob) {
+        if (blob.length != UUID_SIZE) {
+            throw new IllegalArgumentException("UUID blob has " + blob.length + " bytes");
+        }
+        return new UUID(readLong(blob, 0), readLong(blob, 8));
+    }
+
+    /** Encodes {@code uuid} as its 16 big-endian bytes. */
+    public static byte[] encodeUuid(UUID uuid) {
+        byte[] blob = new byte[UUID_SIZE];
+        writeLong(blob, 0, uuid.getMostSignificantBits());
+        writeLong(blob, 8, uuid.getLeastSignificantBits());
+        return blob;
+    }
+
+    public static int[] decodeIntArray(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        int[] values = new int[readCount(buffer, 4, "int[]")];
+        buffer.asIntBuffer().get(values);
+        return values;
+    }
+
+    public static byte[] encodeIntArray(int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 * values.length).putInt(values.length);
+        buffer.asIntBuffer().put(values);
+        return buffer.array();
+    }
+
+    public static long[] decodeLongArray(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        long[] values = new long[readCount(buffer, 8, "long[]")];
+        buffer.asLongBuffer().get(values);
+        return values;
+    }
+
+    public static byte[] encodeLongArray(long[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 * values.length).putInt(values.length);
+        buffer.asLongBuffer().put(values);
+        return buffer.array();
+    }
+
+    public static short[] decodeShortArray(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        short[] values = new short[readCount(buffer, 2, "short[]")];
+        buffer.asShortBuffer().get(values);
+        return values;
+    }
+
+    public static byte[] encodeShortArray(short[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 2 * values.length).putInt(values.length);
+        buffer.asShortBuffer().put(values);
+        return buffer.array();
+    }
+
+    public static float[] decodeFloatArray(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        float[] values = new float[readCount(buffer, 4, "float[]")];
+        buffer.asFloatBuffer().get(values);
+        return values;
+    }
+
+    public static byte[] encodeFloatArray(float[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 * values.length).putInt(values.length);
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    public static double[] decodeDoubleArray(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        double[] values = new double[readCount(buffer, 8, "double[]")];
+        buffer.asDoubleBuffer().get(values);
+        return values;
+    }
+
+    public static byte[] encodeDoubleArray(double[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 * values.length).putInt(values.length);
+        buffer.asDoubleBuffer().put(values);
+        return buffer.array();
+    }
+
+    public static List<Long> decodeLongList(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        int size = readCount(buffer, 8, "List<Long>");
+        List<Long> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(buffer.getLong());
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    public static byte[] encodeLongList(List<Long> values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 * values.size()).putInt(values.size());
+        for (Long value : values) {
+            buffer.putLong(value);
+        }
+        return buffer.array();
+    }
+
+    public static List<String> decodeStringList(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        int size = readCount(buffer, 4, "List<String>");
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int length = readCount(buffer, 1, "List<String>");
+            values.add(new String(blob, buffer.position(), length, UTF_8));
+            buffer.position(buffer.position() + length);
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    public static byte[] encodeStringList(List<String> values) {
+        byte[][] encoded = new byte[values.size()][];
+        int size = 4;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = values.get(i).getBytes(UTF_8);
+            size += 4 + encoded[i].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).putInt(encoded.length);
+        for (byte[] value : encoded) {
+            buffer.putInt(value.length).put(value);
+        }
+        return buffer.array();
+    }
+
+    // Writes of a LazyValue that wasn't decoded yet return the BLOB it was read from
+
+    public static byte[] encodeUuid(LazyValue<UUID> value) {
+        byte[] blob = value.blob();
+        return blob != null ? blob : encodeUuid(value.get());
+    }
+
+    public static byte[] encodeIntArray(LazyValue<int[]> value) {
+        byte[] blob = value.blob();
+        return blob != null ? blob : encodeIntArray(value.get());
+    }
+
+    public static byte[] encodeLongArray(LazyValue<long[]> value) {
+        byte[] blob = value.blob();
+        return blob != null ? blob : encodeLongArray(value.get());
+    }
+
+    public static byte[] encodeShortArray(LazyValue<short[]> value) {
+        byte[] blob = value.blob();
+        return blob != null ? blob : encodeShortArray(value.get());
+    }
+
+    public static byte[] encodeFloatArray(LazyValue<float[]> value) {
+        byte[] blob = value.blob();
+        return blob != null ? blob : encodeFloatArray(value.get());
+    }
+
+    public static byte[] encodeDoubleArray(LazyValue<double[]> value) {
+        byte[] blob = value.blob();
+        return blob != null ? blob : encodeDoubleArray(value.get());
+    }
+
+    public static byte[] encodeLongList(LazyValue<List<Long>> value) {
+        byte[] blob = value.blob();
+        return blob != null ? blob : encodeLongList(value.get());
+    }
+
+    public static byte[] encodeStringList(LazyValue<List<String>> value) {
+        byte[] blob = value.blob();
+        return blob != null ? blob : encodeStringList(value.get());
+    }
+
+    // Checks the length prefix against the remaining bytes before anything is allocated for it, so
+    // that a corrupt BLOB can't cause a huge or negative allocation
+    private static int readCount(ByteBuffer buffer, int elementSize, String type) {
+        if (buffer.remaining() < 4) {
+            throw new IllegalArgumentException(type + " blob is missing its length prefix");
+        }
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / elementSize) {
+            throw new IllegalArgumentException(type + " blob has length " + count + " but only "
+                    + buffer.remaining() + " remaining bytes");
+        }
+        return count;
+    }
+
+    private static long readLong(byte[] blob, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (blob[i] & 0xff);
+        }
+        return value;
+    }
+
+    private static void writeLong(byte[] blob, int offset, long value) {
+        for (int i = offset + 7; i >= offset; i--) {
+            blob[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private BlobCodecs() {
+        throw new AssertionError("No instances.");
+    }
+}
@@ -0,0 +1,77 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.util.Arrays;
+
+/**
+ * Remembers the resolved column indices for the last few distinct column layouts a value class was
+ * read from. Code generated with {@code -Aautovaluecursor.layoutCache=true} looks up
+ * {@code cursor.getColumnNames()} here before resolving any column by name.
+ *
+ * <p>Lookups first compare the column name arrays by identity, which is enough for repeated reads
+ * from the same cursor, and then by their contents. Lookups don't lock, the cached index arrays
+ * must not be modified.
+ */
+public final class ColumnLayoutCache {
+
+    private final int maxSize;
+    private volatile Layout[] layouts = new Layout[0];
+    private int next;
+
+    public ColumnLayoutCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /** Returns the column indices for {@code columnNames} or {@code null} if they aren't cached. */
+    public int[] get(String[] columnNames) {
+        Layout[] layouts = this.layouts;
+        for (Layout layout : layouts) {
+            if (layout.columnNames == columnNames) {
+                return layout.columnIndices;
+            }
+        }
+        for (Layout layout : layouts) {
+            if (Arrays.equals(layout.copy, columnNames)) {
+                return layout.columnIndices;
+            }
+        }
+        return null;
+    }
+
+    /** Caches {@code columnIndices} for {@code columnNames}, replacing the oldest layout if full. */
+    public synchronized void put(String[] columnNames, int[] columnIndices) {
+        Layout layout = new Layout(columnNames, columnIndices);
+        Layout[] layouts;
+        if (this.layouts.length < maxSize) {
+            layouts = Arrays.copyOf(this.layouts, this.layouts.length + 1);
+            layouts[layouts.length - 1] = layout;
+        } else {
+            layouts = this.layouts.clone();
+            layouts[next] = layout;
+            next = (next + 1) % maxSize;
+        }
+        this.layouts = layouts;
+    }
+
+    public int size() {
+        return layouts.length;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    private static final class Layout {
+        final String[] columnNames;
+        final String[] copy;
+        final int[] columnIndices;
+
+        Layout(String[] columnNames, int[] columnIndices) {
+            this.columnNames = columnNames;
+            this.copy = columnNames.clone();
+            this.columnIndices = columnIndices;
+        }
+    }
+}
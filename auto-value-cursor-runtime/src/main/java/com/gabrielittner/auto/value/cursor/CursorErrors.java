@@ -0,0 +1,60 @@
+package com.gabrielittner.auto.value.cursor;
+
+/**
+ * Receives the problems that code generated with {@code -Aautovaluecursor.lenient=true} found
+ * instead of throwing. Override the callbacks you are interested in and
+ * {@link #install(CursorErrors) install} the listener.
+ */
+public abstract class CursorErrors {
+
+    private static volatile CursorErrors installed;
+
+    /** Installs {@code errors} as the listener for all generated mappers, {@code null} removes it. */
+    public static void install(CursorErrors errors) {
+        installed = errors;
+    }
+
+    public static void reportMissingColumn(Class<?> type, String columnName) {
+        CursorErrors errors = installed;
+        if (errors != null) {
+            errors.onMissingColumn(type, columnName);
+        }
+    }
+
+    public static void reportNullColumn(Class<?> type, String columnName, int position) {
+        CursorErrors errors = installed;
+        if (errors != null) {
+            errors.onNullColumn(type, columnName, position);
+        }
+    }
+
+    public static void reportInvalidValue(Class<?> type, String columnName, int position,
+            RuntimeException cause) {
+        CursorErrors errors = installed;
+        if (errors != null) {
+            errors.onInvalidValue(type, columnName, position, cause);
+        }
+    }
+
+    /**
+     * Called once per cursor when the required column {@code columnName} doesn't exist, no rows are
+     * read from that cursor.
+     */
+    public void onMissingColumn(Class<?> type, String columnName) {
+    }
+
+    /**
+     * Called when the row at {@code position} contains null for the non-null column
+     * {@code columnName}, the row is skipped.
+     */
+    public void onNullColumn(Class<?> type, String columnName, int position) {
+    }
+
+    /**
+     * Called when the value in column {@code columnName} of the row at {@code position} can't be
+     * decoded, like an unknown enum name, an out of range ordinal or a malformed BLOB. The row is
+     * skipped.
+     */
+    public void onInvalidValue(Class<?> type, String columnName, int position, RuntimeException cause) {
+    }
+}
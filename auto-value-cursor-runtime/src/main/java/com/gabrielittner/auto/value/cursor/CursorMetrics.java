@@ -0,0 +1,38 @@
+package com.gabrielittner.auto.value.cursor;
+
+/**
+ * Receives timings from code generated with {@code -Aautovaluecursor.metrics=true}. Override the
+ * callbacks you are interested in and {@link #install(CursorMetrics) install} the listener, the
+ * callbacks are invoked on the thread that read or wrote the rows.
+ */
+public abstract class CursorMetrics {
+
+    private static volatile CursorMetrics installed;
+
+    /** Installs {@code metrics} as the listener for all generated mappers, {@code null} removes it. */
+    public static void install(CursorMetrics metrics) {
+        installed = metrics;
+    }
+
+    public static void reportRead(Class<?> type, int rows, int columns, long nanos) {
+        CursorMetrics metrics = installed;
+        if (metrics != null) {
+            metrics.onRead(type, rows, columns, nanos);
+        }
+    }
+
+    public static void reportWrite(Class<?> type, int rows, int columns, long nanos) {
+        CursorMetrics metrics = installed;
+        if (metrics != null) {
+            metrics.onWrite(type, rows, columns, nanos);
+        }
+    }
+
+    /** Called after {@code rows} rows with {@code columns} columns were read into {@code type}. */
+    public void onRead(Class<?> type, int rows, int columns, long nanos) {
+    }
+
+    /** Called after {@code rows} instances of {@code type} were written to {@code columns} columns. */
+    public void onWrite(Class<?> type, int rows, int columns, long nanos) {
+    }
+}
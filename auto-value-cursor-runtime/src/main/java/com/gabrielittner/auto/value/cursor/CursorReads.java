@@ -0,0 +1,46 @@
+package com.gabrielittner.auto.value.cursor;
+
+import android.database.Cursor;
+
+/**
+ * Reads nullable columns for code generated with {@code -Aautovaluecursor.cursorReads=true}.
+ * Each method returns {@code null} when {@code columnIndex} is {@code -1} or the column is null.
+ */
+public final class CursorReads {
+
+    public static String getNullableString(Cursor cursor, int columnIndex) {
+        return columnIndex == -1 || cursor.isNull(columnIndex) ? null : cursor.getString(columnIndex);
+    }
+
+    public static byte[] getNullableBlob(Cursor cursor, int columnIndex) {
+        return columnIndex == -1 || cursor.isNull(columnIndex) ? null : cursor.getBlob(columnIndex);
+    }
+
+    public static Double getNullableDouble(Cursor cursor, int columnIndex) {
+        return columnIndex == -1 || cursor.isNull(columnIndex) ? null : cursor.getDouble(columnIndex);
+    }
+
+    public static Float getNullableFloat(Cursor cursor, int columnIndex) {
+        return columnIndex == -1 || cursor.isNull(columnIndex) ? null : cursor.getFloat(columnIndex);
+    }
+
+    public static Integer getNullableInt(Cursor cursor, int columnIndex) {
+        return columnIndex == -1 || cursor.isNull(columnIndex) ? null : cursor.getInt(columnIndex);
+    }
+
+    public static Long getNullableLong(Cursor cursor, int columnIndex) {
+        return columnIndex == -1 || cursor.isNull(columnIndex) ? null : cursor.getLong(columnIndex);
+    }
+
+    public static Short getNullableShort(Cursor cursor, int columnIndex) {
+        return columnIndex == -1 || cursor.isNull(columnIndex) ? null : cursor.getShort(columnIndex);
+    }
+
+    public static Boolean getNullableBoolean(Cursor cursor, int columnIndex) {
+        return columnIndex == -1 || cursor.isNull(columnIndex) ? null : cursor.getInt(columnIndex) == 1;
+    }
+
+    private CursorReads() {
+        throw new AssertionError("No instances.");
+    }
+}
@@ -0,0 +1,42 @@
+package com.gabrielittner.auto.value.cursor;
+
+import android.database.Cursor;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Reads a cursor on an {@link Executor} and closes it afterwards. The cursor is also closed when
+ * the task was cancelled before it ran or the executor rejected it. Used by the generated
+ * {@code createListFromCursorAsync} methods.
+ */
+public final class CursorTask<T> extends FutureTask<T> {
+
+    /** Runs {@code read} on {@code executor} and returns the task as the future for its result. */
+    public static <T> CursorTask<T> execute(Cursor cursor, Executor executor, Callable<T> read) {
+        CursorTask<T> task = new CursorTask<>(cursor, read);
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            cursor.close();
+            throw e;
+        }
+        return task;
+    }
+
+    private final Cursor cursor;
+
+    private CursorTask(Cursor cursor, Callable<T> read) {
+        super(read);
+        this.cursor = cursor;
+    }
+
+    @Override
+    public void run() {
+        try {
+            super.run();
+        } finally {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.gabrielittner.auto.value.cursor;
+
+import android.database.Cursor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads two value classes from the rows of a joined cursor. The columns of each class are
+ * expected to be aliased with a prefix, e.g. {@code SELECT user.id AS user_id, team.id AS team_id},
+ * and their indices are resolved once per cursor.
+ */
+public final class JoinReader<A, B> {
+
+    private final RowReader<A> first;
+    private final String firstPrefix;
+    private final RowReader<B> second;
+    private final String secondPrefix;
+
+    public JoinReader(RowReader<A> first, String firstPrefix, RowReader<B> second, String secondPrefix) {
+        if (first == null) {
+            throw new NullPointerException("first == null");
+        }
+        if (second == null) {
+            throw new NullPointerException("second == null");
+        }
+        this.first = first;
+        this.firstPrefix = firstPrefix != null ? firstPrefix : "";
+        this.second = second;
+        this.secondPrefix = secondPrefix != null ? secondPrefix : "";
+    }
+
+    /** Reads the values of the current row. */
+    public Row<A, B> read(Cursor cursor) {
+        return readRow(cursor,
+                first.columnIndices(cursor, firstPrefix),
+                second.columnIndices(cursor, secondPrefix));
+    }
+
+    /** Reads the values of all rows of {@code cursor}. */
+    public List<Row<A, B>> readList(Cursor cursor) {
+        int[] firstIndices = first.columnIndices(cursor, firstPrefix);
+        int[] secondIndices = second.columnIndices(cursor, secondPrefix);
+        List<Row<A, B>> rows = new ArrayList<>(cursor.getCount());
+        cursor.moveToPosition(-1);
+        while (cursor.moveToNext()) {
+            rows.add(readRow(cursor, firstIndices, secondIndices));
+        }
+        return rows;
+    }
+
+    private Row<A, B> readRow(Cursor cursor, int[] firstIndices, int[] secondIndices) {
+        return new Row<>(
+                firstIndices != null ? first.readRow(cursor, firstIndices) : null,
+                secondIndices != null ? second.readRow(cursor, secondIndices) : null);
+    }
+
+    /** The values that were read from one row, values are {@code null} in lenient mode. */
+    public static final class Row<A, B> {
+        private final A first;
+        private final B second;
+
+        Row(A first, B second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        public A first() {
+            return first;
+        }
+
+        public B second() {
+            return second;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Row)) {
+                return false;
+            }
+            Row<?, ?> other = (Row<?, ?>) o;
+            return (first == null ? other.first == null : first.equals(other.first))
+                    && (second == null ? other.second == null : second.equals(other.second));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (first == null ? 0 : first.hashCode()) + (second == null ? 0 : second.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return "Row{first=" + first + ", second=" + second + "}";
+        }
+    }
+}
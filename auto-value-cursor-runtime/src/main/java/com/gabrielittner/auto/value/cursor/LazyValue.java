@@ -0,0 +1,86 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.util.Arrays;
+
+/**
+ * A property value that is decoded on first access. Generated code reads properties of type
+ * {@code LazyValue<T>} by keeping the raw BLOB of the column, {@link #get()} decodes it once.
+ * Use {@link #of(Object)} to create an already decoded value.
+ */
+public abstract class LazyValue<T> {
+
+    public static <T> LazyValue<T> of(T value) {
+        return new Decoded<>(value);
+    }
+
+    // blob is cleared after value is written, a reader that sees it cleared also sees the value
+    private volatile byte[] blob;
+    private volatile T value;
+
+    protected LazyValue(byte[] blob) {
+        this(blob, null);
+        if (blob == null) {
+            throw new NullPointerException("blob == null");
+        }
+    }
+
+    private LazyValue(byte[] blob, T value) {
+        this.blob = blob;
+        this.value = value;
+    }
+
+    protected abstract T decode(byte[] blob);
+
+    public final T get() {
+        if (blob != null) {
+            synchronized (this) {
+                byte[] blob = this.blob;
+                if (blob != null) {
+                    value = decode(blob);
+                    this.blob = null;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the BLOB this value was read from or {@code null} once it was decoded, so that
+     * writes don't need to decode and encode it again.
+     */
+    final byte[] blob() {
+        return blob;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof LazyValue)) {
+            return false;
+        }
+        return Arrays.deepEquals(new Object[] {get()}, new Object[] {((LazyValue<?>) o).get()});
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(new Object[] {get()});
+    }
+
+    @Override
+    public String toString() {
+        return "LazyValue{" + Arrays.deepToString(new Object[] {get()}) + "}";
+    }
+
+    private static final class Decoded<T> extends LazyValue<T> {
+        Decoded(T value) {
+            super(null, value);
+        }
+
+        @Override
+        protected T decode(byte[] blob) {
+            throw new AssertionError();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A LRU cache for already mapped query results, keyed by the SQL and its selection arguments.
+ *
+ * <p>Every entry remembers the tables it was read from. Calling {@link #invalidate(String)}, or
+ * {@link #notifyTableChanged(String)} for all caches at once, drops the entries that depend on
+ * the given table. Call it after the write to the table, not before.
+ *
+ * <p>Every table also has a generation that each invalidation increments. Capture it with
+ * {@link #generation(String...)} before running the query and pass it to
+ * {@link #put(String, String[], long, List, String...)}, which drops results of queries that
+ * raced with a write:
+ *
+ * <pre>{@code
+ * long generation = QueryCache.generation("user");
+ * List<User> users = loadUsers(sql, args);
+ * cache.put(sql, args, generation, users, "user");
+ * }</pre>
+ */
+public final class QueryCache {
+
+    private static final List<WeakReference<QueryCache>> CACHES = new CopyOnWriteArrayList<>();
+    private static final Map<String, Long> GENERATIONS = new HashMap<>();
+
+    /** Invalidates the entries that were read from {@code table} in every live cache. */
+    public static void notifyTableChanged(String table) {
+        nextGeneration(table);
+        for (WeakReference<QueryCache> reference : CACHES) {
+            QueryCache cache = reference.get();
+            if (cache != null) {
+                cache.remove(table);
+            } else {
+                CACHES.remove(reference);
+            }
+        }
+    }
+
+    /**
+     * Returns the combined generation of {@code tables}, it changes whenever one of them is
+     * invalidated.
+     */
+    public static long generation(String... tables) {
+        synchronized (GENERATIONS) {
+            long generation = 0;
+            for (String table : tables) {
+                Long tableGeneration = GENERATIONS.get(table);
+                if (tableGeneration != null) {
+                    generation += tableGeneration;
+                }
+            }
+            return generation;
+        }
+    }
+
+    private static void nextGeneration(String table) {
+        synchronized (GENERATIONS) {
+            Long generation = GENERATIONS.get(table);
+            GENERATIONS.put(table, generation != null ? generation + 1 : 1);
+        }
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, CachedResult> entries;
+
+    private int hitCount;
+    private int missCount;
+    private int evictionCount;
+
+    public QueryCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Key, CachedResult>(0, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedResult> eldest) {
+                if (size() > QueryCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        CACHES.add(new WeakReference<>(this));
+    }
+
+    /**
+     * Returns the cached result for {@code sql} and {@code args} or {@code null} if there is none.
+     * The returned list is unmodifiable.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> List<T> get(String sql, String[] args) {
+        CachedResult entry = entries.get(new Key(sql, args));
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return (List<T>) entry.result;
+    }
+
+    /**
+     * Caches {@code result} for {@code sql} and {@code args} until one of {@code tables} is
+     * invalidated or the entry is evicted. The result is dropped if one of {@code tables} was
+     * invalidated since {@code generation} was returned by {@link #generation(String...)}.
+     */
+    public synchronized void put(String sql, String[] args, long generation, List<?> result,
+            String... tables) {
+        // Invalidations increment the generation before they remove entries, an entry that is
+        // added after the check is removed by the invalidation that follows
+        if (generation(tables) != generation) {
+            return;
+        }
+        List<?> copy = Collections.unmodifiableList(new ArrayList<>(result));
+        entries.put(new Key(sql, args), new CachedResult(copy, tables));
+    }
+
+    /** Drops all entries that were read from {@code table}. */
+    public void invalidate(String table) {
+        nextGeneration(table);
+        remove(table);
+    }
+
+    private synchronized void remove(String table) {
+        Iterator<CachedResult> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().dependsOn(table)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /** Drops all entries. */
+    public synchronized void evictAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /** Returns the number of times {@link #get} returned a cached result. */
+    public synchronized int hitCount() {
+        return hitCount;
+    }
+
+    /** Returns the number of times {@link #get} returned {@code null}. */
+    public synchronized int missCount() {
+        return missCount;
+    }
+
+    /** Returns the number of entries that were dropped because the cache was full. */
+    public synchronized int evictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("QueryCache[maxSize=%d,hits=%d,misses=%d,evictions=%d]",
+                maxSize, hitCount, missCount, evictionCount);
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final List<String> args;
+
+        Key(String sql, String[] args) {
+            this.sql = sql;
+            this.args = args != null ? Arrays.asList(args.clone()) : Collections.<String>emptyList();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return sql.equals(that.sql) && args.equals(that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sql.hashCode() + args.hashCode();
+        }
+    }
+
+    private static final class CachedResult {
+        final List<?> result;
+        final String[] tables;
+
+        CachedResult(List<?> result, String[] tables) {
+            this.result = result;
+            this.tables = tables.clone();
+        }
+
+        boolean dependsOn(String table) {
+            for (String t : tables) {
+                if (t.equals(table)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
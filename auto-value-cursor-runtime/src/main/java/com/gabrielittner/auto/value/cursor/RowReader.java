@@ -0,0 +1,21 @@
+package com.gabrielittner.auto.value.cursor;
+
+import android.database.Cursor;
+
+/**
+ * Reads a value class from columns whose names start with a prefix, like the aliased columns of a
+ * join. Value classes declare a static field of this type that is assigned
+ * {@code AutoValue_Foo.ROW_READER}, {@link JoinReader} combines the readers of several classes.
+ */
+public interface RowReader<T> {
+
+    /**
+     * Returns the indices of the columns that are named {@code prefix} followed by the column
+     * name. Returns {@code null} if a required column is missing and the value class was
+     * generated in lenient mode.
+     */
+    int[] columnIndices(Cursor cursor, String prefix);
+
+    /** Reads the current row with the indices that {@link #columnIndices} returned. */
+    T readRow(Cursor cursor, int[] columnIndices);
+}
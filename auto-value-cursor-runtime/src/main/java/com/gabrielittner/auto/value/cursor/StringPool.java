@@ -0,0 +1,39 @@
+package com.gabrielittner.auto.value.cursor;
+
+/**
+ * A bounded table of canonical strings for properties annotated with {@code @Dedupe}. Each value
+ * maps to a single slot, a value that collides with a different one replaces it. Lookups don't
+ * lock, racing writes can only cause a value to not be shared.
+ */
+public final class StringPool {
+
+    private final String[] table;
+    private final int mask;
+
+    public StringPool(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size <= 0");
+        }
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size) {
+            capacity <<= 1;
+        }
+        table = new String[capacity];
+        mask = capacity - 1;
+    }
+
+    /** Returns an equal string that was returned before if there is one or {@code value}. */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String pooled = table[index];
+        if (value.equals(pooled)) {
+            return pooled;
+        }
+        table[index] = value;
+        return value;
+    }
+}
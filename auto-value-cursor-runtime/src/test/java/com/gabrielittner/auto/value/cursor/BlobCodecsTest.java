@@ -0,0 +1,91 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class BlobCodecsTest {
+
+    @Test
+    public void uuid() {
+        UUID uuid = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+        byte[] blob = BlobCodecs.encodeUuid(uuid);
+
+        assertThat(blob).hasLength(16);
+        assertThat(blob[0]).isEqualTo((byte) 0x12);
+        assertThat(blob[15]).isEqualTo((byte) 0x00);
+        assertThat(BlobCodecs.decodeUuid(blob)).isEqualTo(uuid);
+    }
+
+    @Test
+    public void primitiveArrays() {
+        int[] ints = {1, -2, Integer.MAX_VALUE};
+        byte[] blob = BlobCodecs.encodeIntArray(ints);
+        assertThat(blob).hasLength(4 + 3 * 4);
+        assertThat(BlobCodecs.decodeIntArray(blob)).isEqualTo(ints);
+
+        long[] longs = {Long.MIN_VALUE, 0, 42};
+        assertThat(BlobCodecs.decodeLongArray(BlobCodecs.encodeLongArray(longs))).isEqualTo(longs);
+        short[] shorts = {-1, 7};
+        assertThat(BlobCodecs.decodeShortArray(BlobCodecs.encodeShortArray(shorts))).isEqualTo(shorts);
+        float[] floats = {1.5f, -0f};
+        assertThat(BlobCodecs.decodeFloatArray(BlobCodecs.encodeFloatArray(floats))).isEqualTo(floats);
+        double[] doubles = {};
+        assertThat(BlobCodecs.decodeDoubleArray(BlobCodecs.encodeDoubleArray(doubles))).isEqualTo(doubles);
+    }
+
+    @Test
+    public void lists() {
+        List<String> strings = Arrays.asList("tag", "", "\u00fcber");
+        byte[] blob = BlobCodecs.encodeStringList(strings);
+        assertThat(blob).hasLength(4 + 4 + 3 + 4 + 4 + 5);
+        assertThat(BlobCodecs.decodeStringList(blob)).containsExactlyElementsIn(strings).inOrder();
+
+        List<Long> longs = Arrays.asList(3L, -1L);
+        assertThat(BlobCodecs.decodeLongList(BlobCodecs.encodeLongList(longs)))
+                .containsExactlyElementsIn(longs).inOrder();
+    }
+
+    @Test
+    public void negativeLength() {
+        try {
+            BlobCodecs.decodeIntArray(new byte[] {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff});
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessageThat().isEqualTo("int[] blob has length -1 but only 0 remaining bytes");
+        }
+    }
+
+    @Test
+    public void truncatedBlob() {
+        byte[] blob = Arrays.copyOf(BlobCodecs.encodeLongArray(new long[] {1, 2}), 12);
+        try {
+            BlobCodecs.decodeLongArray(blob);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessageThat().isEqualTo("long[] blob has length 2 but only 8 remaining bytes");
+        }
+        try {
+            BlobCodecs.decodeLongList(new byte[2]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessageThat().isEqualTo("List<Long> blob is missing its length prefix");
+        }
+    }
+
+    @Test
+    public void stringLongerThanBlob() {
+        byte[] blob = {0, 0, 0, 1, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, 'a'};
+        try {
+            BlobCodecs.decodeStringList(blob);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessageThat()
+                    .isEqualTo("List<String> blob has length 2147483647 but only 1 remaining bytes");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.gabrielittner.auto.value.cursor;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ColumnLayoutCacheTest {
+
+    @Test
+    public void matchesByIdentityAndContents() {
+        ColumnLayoutCache cache = new ColumnLayoutCache(2);
+        String[] columnNames = {"_id", "name"};
+        int[] columnIndices = {0, 1};
+        assertThat(cache.get(columnNames)).isNull();
+
+        cache.put(columnNames, columnIndices);
+        assertThat(cache.get(columnNames)).isSameInstanceAs(columnIndices);
+        assertThat(cache.get(new String[] {"_id", "name"})).isSameInstanceAs(columnIndices);
+        assertThat(cache.get(new String[] {"name", "_id"})).isNull();
+    }
+
+    @Test
+    public void replacesOldestLayout() {
+        ColumnLayoutCache cache = new ColumnLayoutCache(2);
+        cache.put(new String[] {"a"}, new int[] {0});
+        cache.put(new String[] {"b"}, new int[] {0});
+        cache.put(new String[] {"c"}, new int[] {0});
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(new String[] {"a"})).isNull();
+        assertThat(cache.get(new String[] {"b"})).isNotNull();
+        assertThat(cache.get(new String[] {"c"})).isNotNull();
+    }
+}
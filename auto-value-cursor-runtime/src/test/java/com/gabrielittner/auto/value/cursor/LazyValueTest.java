@@ -0,0 +1,56 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class LazyValueTest {
+
+    @Test
+    public void decodesOnce() {
+        final int[] decodeCount = {0};
+        LazyValue<List<String>> value = new LazyValue<List<String>>(
+                BlobCodecs.encodeStringList(Arrays.asList("a", "b"))) {
+            @Override
+            protected List<String> decode(byte[] blob) {
+                decodeCount[0]++;
+                return BlobCodecs.decodeStringList(blob);
+            }
+        };
+        assertThat(decodeCount[0]).isEqualTo(0);
+
+        assertThat(value.get()).containsExactly("a", "b").inOrder();
+        assertThat(value.get()).containsExactly("a", "b").inOrder();
+        assertThat(decodeCount[0]).isEqualTo(1);
+    }
+
+    @Test
+    public void encodesUndecodedValueWithoutDecoding() {
+        final byte[] blob = BlobCodecs.encodeLongArray(new long[] {1, 2});
+        LazyValue<long[]> value = new LazyValue<long[]>(blob) {
+            @Override
+            protected long[] decode(byte[] blob) {
+                throw new AssertionError();
+            }
+        };
+
+        assertThat(BlobCodecs.encodeLongArray(value)).isSameInstanceAs(blob);
+        assertThat(BlobCodecs.encodeLongArray(LazyValue.of(new long[] {1, 2}))).isEqualTo(blob);
+    }
+
+    @Test
+    public void equalsComparesDecodedValues() {
+        LazyValue<long[]> encoded = new LazyValue<long[]>(BlobCodecs.encodeLongArray(new long[] {1, 2})) {
+            @Override
+            protected long[] decode(byte[] blob) {
+                return BlobCodecs.decodeLongArray(blob);
+            }
+        };
+
+        assertThat(encoded).isEqualTo(LazyValue.of(new long[] {1, 2}));
+        assertThat(encoded.hashCode()).isEqualTo(LazyValue.of(new long[] {1, 2}).hashCode());
+        assertThat(encoded).isNotEqualTo(LazyValue.of(new long[] {2, 1}));
+    }
+}
@@ -0,0 +1,68 @@
+package com.gabrielittner.auto.value.cursor;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class QueryCacheTest {
+
+    private static final String SQL = "SELECT * FROM user WHERE team = ?";
+
+    @Test
+    public void hitAndMiss() {
+        QueryCache cache = new QueryCache(2);
+        assertThat(cache.<String>get(SQL, new String[] {"1"})).isNull();
+
+        cache.put(SQL, new String[] {"1"}, QueryCache.generation("user"), Arrays.asList("a", "b"), "user");
+        List<String> result = cache.get(SQL, new String[] {"1"});
+        assertThat(result).containsExactly("a", "b").inOrder();
+        assertThat(cache.<String>get(SQL, new String[] {"2"})).isNull();
+
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        QueryCache cache = new QueryCache(2);
+        long generation = QueryCache.generation("user");
+        cache.put(SQL, new String[] {"1"}, generation, Arrays.asList("a"), "user");
+        cache.put(SQL, new String[] {"2"}, generation, Arrays.asList("b"), "user");
+        cache.get(SQL, new String[] {"1"});
+        cache.put(SQL, new String[] {"3"}, generation, Arrays.asList("c"), "user");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+        assertThat(cache.<String>get(SQL, new String[] {"1"})).isNotNull();
+        assertThat(cache.<String>get(SQL, new String[] {"2"})).isNull();
+    }
+
+    @Test
+    public void invalidatesByTable() {
+        QueryCache cache = new QueryCache(4);
+        cache.put(SQL, null, QueryCache.generation("user", "team"), Arrays.asList("a"), "user", "team");
+        cache.put("SELECT * FROM team", null, QueryCache.generation("team"), Arrays.asList("b"), "team");
+        cache.put("SELECT * FROM avatar", null, QueryCache.generation("avatar"), Arrays.asList("c"), "avatar");
+
+        QueryCache.notifyTableChanged("team");
+
+        assertThat(cache.<String>get(SQL, null)).isNull();
+        assertThat(cache.<String>get("SELECT * FROM team", null)).isNull();
+        assertThat(cache.<String>get("SELECT * FROM avatar", null)).containsExactly("c");
+        assertThat(cache.evictionCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void dropsResultOfQueryThatRacedWithWrite() {
+        QueryCache cache = new QueryCache(2);
+        long generation = QueryCache.generation("user");
+        QueryCache.notifyTableChanged("user");
+        cache.put(SQL, null, generation, Arrays.asList("stale"), "user");
+        assertThat(cache.<String>get(SQL, null)).isNull();
+
+        cache.put(SQL, null, QueryCache.generation("user"), Arrays.asList("fresh"), "user");
+        assertThat(cache.<String>get(SQL, null)).containsExactly("fresh");
+    }
+}
@@ -0,0 +1,33 @@
+package com.gabrielittner.auto.value.cursor;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class StringPoolTest {
+
+    @Test
+    public void returnsSameInstanceForEqualValues() {
+        StringPool pool = new StringPool(8);
+        String first = pool.intern(new String("ACTIVE"));
+        String second = pool.intern(new String("ACTIVE"));
+
+        assertThat(second).isSameInstanceAs(first);
+        assertThat(pool.intern(new String("DELETED"))).isEqualTo("DELETED");
+        assertThat(pool.intern(null)).isNull();
+    }
+
+    @Test
+    public void staysBounded() {
+        StringPool pool = new StringPool(1);
+        String a = pool.intern(new String("a"));
+        pool.intern("b");
+
+        assertThat(pool.intern(new String("a"))).isNotSameInstanceAs(a);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyPool() {
+        new StringPool(0);
+    }
+}
@@ -1,100 +1,670 @@
 package com.gabrielittner.auto.value;
 
 import com.gabrielittner.auto.value.cursor.ColumnAdapter;
+import com.gabrielittner.auto.value.cursor.ColumnDefault;
 import com.gabrielittner.auto.value.cursor.ColumnName;
+import com.gabrielittner.auto.value.cursor.ColumnStorage;
+import com.gabrielittner.auto.value.cursor.Dedupe;
+import com.gabrielittner.auto.value.cursor.Embedded;
 import com.gabrielittner.auto.value.util.Property;
+import com.google.auto.common.MoreElements;
 import com.google.auto.value.extension.AutoValueExtension;
+import com.google.common.base.CaseFormat;
+import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
-import java.util.Arrays;
+import com.squareup.javapoet.TypeSpec;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
 import static com.gabrielittner.auto.value.util.ElementUtil.getAnnotationValue;
+import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PROTECTED;
+import static javax.lang.model.element.Modifier.STATIC;
 
 public final class ColumnProperty extends Property {
 
+    public enum StorageClass {
+        INTEGER("getLong", "bindLong"),
+        REAL("getDouble", "bindDouble"),
+        TEXT("getString", "bindString"),
+        BLOB("getBlob", "bindBlob");
+
+        private final String cursorMethod;
+        private final String bindMethod;
+
+        StorageClass(String cursorMethod, String bindMethod) {
+            this.cursorMethod = cursorMethod;
+            this.bindMethod = bindMethod;
+        }
+
+        public String cursorMethod() {
+            return cursorMethod;
+        }
+
+        public String bindMethod() {
+            return bindMethod;
+        }
+    }
+
+    // AutoValue passes the same Context to every extension that is applied to a class, cache
+    // the properties so that they are only created once per class. The context and its
+    // properties are published together so that concurrent processors never mix them up.
+    private static volatile CachedProperties cached;
+
     public static ImmutableList<ColumnProperty> from(AutoValueExtension.Context context) {
+        CachedProperties current = cached;
+        if (current != null && current.get() == context) {
+            return current.properties;
+        }
         ImmutableList.Builder<ColumnProperty> values = ImmutableList.builder();
         for (Map.Entry<String, ExecutableElement> entry : context.properties().entrySet()) {
-            values.add(new ColumnProperty(entry.getKey(), entry.getValue()));
-        }
-        return values.build();
-    }
-
-    private static final List<TypeName> SUPPORTED_TYPES =
-            Arrays.asList(
-                    TypeName.get(String.class),
-                    TypeName.get(byte[].class),
-                    TypeName.get(Byte[].class),
-                    TypeName.DOUBLE,
-                    TypeName.DOUBLE.box(),
-                    TypeName.FLOAT,
-                    TypeName.FLOAT.box(),
-                    TypeName.INT,
-                    TypeName.INT.box(),
-                    TypeName.LONG,
-                    TypeName.LONG.box(),
-                    TypeName.SHORT,
-                    TypeName.SHORT.box(),
-                    TypeName.BOOLEAN,
-                    TypeName.BOOLEAN.box());
+            values.add(new ColumnProperty(context, entry.getKey(), entry.getValue(), null));
+        }
+        ImmutableList<ColumnProperty> properties = values.build();
+        cached = new CachedProperties(context, properties);
+        return properties;
+    }
+
+    private static final class CachedProperties extends WeakReference<AutoValueExtension.Context> {
+        final ImmutableList<ColumnProperty> properties;
+
+        CachedProperties(AutoValueExtension.Context context, ImmutableList<ColumnProperty> properties) {
+            super(context);
+            this.properties = properties;
+        }
+    }
+
+    private static final String AUTO_VALUE = "com.google.auto.value.AutoValue";
+    private static final ClassName CONTENT_VALUES = ClassName.get("android.content", "ContentValues");
+    private static final ClassName UUID = ClassName.get("java.util", "UUID");
+    private static final ClassName LIST = ClassName.get("java.util", "List");
+    private static final ClassName BLOB_CODECS =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "BlobCodecs");
+    private static final ClassName STRING_POOL =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "StringPool");
+    private static final ClassName LAZY_VALUE =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "LazyValue");
+
+    private static final ImmutableMap<TypeName, ColumnType> SUPPORTED_TYPES =
+            ImmutableMap.<TypeName, ColumnType>builder()
+                    .put(TypeName.get(String.class),
+                            new ColumnType("cursor.getString($L)", "getNullableString", StorageClass.TEXT))
+                    .put(TypeName.get(byte[].class),
+                            new ColumnType("cursor.getBlob($L)", "getNullableBlob", StorageClass.BLOB))
+                    .put(TypeName.get(Byte[].class),
+                            new ColumnType("cursor.getBlob($L)", "getNullableBlob", StorageClass.BLOB))
+                    .putAll(primitive(TypeName.DOUBLE,
+                            new ColumnType("cursor.getDouble($L)", "getNullableDouble", StorageClass.REAL)))
+                    .putAll(primitive(TypeName.FLOAT,
+                            new ColumnType("cursor.getFloat($L)", "getNullableFloat", StorageClass.REAL)))
+                    .putAll(primitive(TypeName.INT,
+                            new ColumnType("cursor.getInt($L)", "getNullableInt", StorageClass.INTEGER)))
+                    .putAll(primitive(TypeName.LONG,
+                            new ColumnType("cursor.getLong($L)", "getNullableLong", StorageClass.INTEGER)))
+                    .putAll(primitive(TypeName.SHORT,
+                            new ColumnType("cursor.getShort($L)", "getNullableShort", StorageClass.INTEGER)))
+                    .putAll(primitive(TypeName.BOOLEAN,
+                            new ColumnType("cursor.getInt($L) == 1", "getNullableBoolean", StorageClass.INTEGER)))
+                    .putAll(epoch(ClassName.get("java.util", "Date"), "new $T(cursor.getLong($L))", "$L.getTime()"))
+                    .putAll(epoch(ClassName.get("java.time", "Instant"),
+                            "$T.ofEpochMilli(cursor.getLong($L))", "$L.toEpochMilli()"))
+                    .putAll(epoch(ClassName.get("java.time", "LocalDate"),
+                            "$T.ofEpochDay(cursor.getLong($L))", "$L.toEpochDay()"))
+                    .putAll(blob(UUID, "Uuid"))
+                    .putAll(blob(ArrayTypeName.of(TypeName.INT), "IntArray"))
+                    .putAll(blob(ArrayTypeName.of(TypeName.LONG), "LongArray"))
+                    .putAll(blob(ArrayTypeName.of(TypeName.SHORT), "ShortArray"))
+                    .putAll(blob(ArrayTypeName.of(TypeName.FLOAT), "FloatArray"))
+                    .putAll(blob(ArrayTypeName.of(TypeName.DOUBLE), "DoubleArray"))
+                    .putAll(blob(ParameterizedTypeName.get(LIST, ClassName.get(Long.class)), "LongList"))
+                    .putAll(blob(ParameterizedTypeName.get(LIST, ClassName.get(String.class)), "StringList"))
+                    .build();
+
+    // Types that can also be stored in a different storage class with @ColumnStorage
+    private static final ImmutableMap<TypeName, ColumnType> ALTERNATIVE_TYPES =
+            ImmutableMap.<TypeName, ColumnType>builder()
+                    .put(UUID, new ColumnType("$T.fromString(cursor.getString($L))", UUID,
+                            StorageClass.TEXT, "$L.toString()", null, null, null, true))
+                    .build();
+
+    private static ImmutableMap<TypeName, ColumnType> primitive(TypeName type, ColumnType columnType) {
+        return ImmutableMap.of(type, columnType, type.box(), columnType);
+    }
+
+    // Dates are stored as epoch millis, LocalDate as epoch days
+    private static ImmutableMap<TypeName, ColumnType> epoch(
+            ClassName type, String cursorMethod, String writeFormat) {
+        return ImmutableMap.of((TypeName) type,
+                new ColumnType(cursorMethod, type, StorageClass.INTEGER, writeFormat, null, null, null, false));
+    }
+
+    // Stored as a BLOB that BlobCodecs encodes and decodes. LazyValue<type> keeps the BLOB and
+    // only decodes it when the value is first accessed.
+    private static ImmutableMap<TypeName, ColumnType> blob(TypeName type, String codec) {
+        TypeName lazyType = ParameterizedTypeName.get(LAZY_VALUE, type);
+        MethodSpec decode = MethodSpec.methodBuilder("decode")
+                .addAnnotation(Override.class)
+                .addModifiers(PROTECTED)
+                .returns(type)
+                .addParameter(byte[].class, "blob")
+                .addStatement("return $T.decode$L(blob)", BLOB_CODECS, codec)
+                .build();
+        MethodSpec lazy = MethodSpec.methodBuilder("lazy" + codec)
+                .addModifiers(PRIVATE, STATIC)
+                .returns(lazyType)
+                .addParameter(byte[].class, "blob")
+                .addStatement("return $L", TypeSpec.anonymousClassBuilder("blob")
+                        .superclass(lazyType)
+                        .addMethod(decode)
+                        .build())
+                .build();
+        return ImmutableMap.of(
+                type, new ColumnType("$T.decode" + codec + "(cursor.getBlob($L))", BLOB_CODECS,
+                        StorageClass.BLOB, "$T.encode" + codec + "($L)", BLOB_CODECS, null, null, true),
+                lazyType, new ColumnType(lazy.name + "(cursor.getBlob($L))", null,
+                        StorageClass.BLOB, "$T.encode" + codec + "($L)", BLOB_CODECS, null, lazy, false));
+    }
+
+    private static ColumnType columnType(
+            ExecutableElement element, TypeName type, StorageClass storage) {
+        ColumnType columnType = SUPPORTED_TYPES.get(type);
+        if (columnType == null) {
+            columnType = enumType(element.getReturnType(), storage);
+        }
+        if (columnType != null && storage != null && columnType.storageClass != storage) {
+            ColumnType alternative = ALTERNATIVE_TYPES.get(type);
+            if (alternative != null) {
+                columnType = alternative;
+            }
+        }
+        if (columnType != null && storage != null && columnType.storageClass != storage) {
+            return null;
+        }
+        return columnType;
+    }
+
+    // Enums are stored by name by default, reads decode the name in a generated switch instead
+    // of Enum.valueOf(). Stored by ordinal reads index a cached values() array because values()
+    // clones the array on every call.
+    private static ColumnType enumType(TypeMirror type, StorageClass storage) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement enumElement = (TypeElement) ((DeclaredType) type).asElement();
+        if (enumElement.getKind() != ElementKind.ENUM) {
+            return null;
+        }
+        ClassName enumName = ClassName.get(enumElement);
+        String helperName = Joiner.on("").join(enumName.simpleNames());
+        if (storage == StorageClass.INTEGER) {
+            String fieldName = CaseFormat.UPPER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, helperName) + "_VALUES";
+            FieldSpec values = FieldSpec.builder(ArrayTypeName.of(enumName), fieldName, PRIVATE, STATIC, FINAL)
+                    .initializer("$T.values()", enumName)
+                    .build();
+            return new ColumnType(fieldName + "[cursor.getInt($L)]", null, StorageClass.INTEGER,
+                    "$L.ordinal()", null, values, null, true);
+        }
+        String methodName = "decode" + helperName;
+        MethodSpec.Builder decode = MethodSpec.methodBuilder(methodName)
+                .addModifiers(PRIVATE, STATIC)
+                .returns(enumName)
+                .addParameter(String.class, "name")
+                .beginControlFlow("switch (name)");
+        for (Element constant : enumElement.getEnclosedElements()) {
+            if (constant.getKind() == ElementKind.ENUM_CONSTANT) {
+                decode.addStatement("case $S: return $T.$N", constant.getSimpleName(), enumName,
+                        constant.getSimpleName().toString());
+            }
+        }
+        decode.addStatement("default: throw new $T($S + name)", IllegalArgumentException.class,
+                "No enum constant " + enumName + ".")
+                .endControlFlow();
+        return new ColumnType(methodName + "(cursor.getString($L))", null, StorageClass.TEXT,
+                "$L.name()", null, null, decode.build(), true);
+    }
+
+    private static StorageClass storageClass(ExecutableElement element) {
+        Object storage = getAnnotationValue(element, ColumnStorage.class, "value");
+        if (storage == null) {
+            return null;
+        }
+        return StorageClass.valueOf(((VariableElement) storage).getSimpleName().toString());
+    }
 
     private final String columnName;
-    private final boolean supportedType;
+    private final ClassName columnAdapter;
+    private final ColumnType columnType;
+    private final FieldSpec stringPool;
+    private final Object defaultValue;
+    private final ColumnProperty parent;
+    private final ImmutableList<ColumnProperty> embeddedProperties;
+    private final ClassName embeddedClass;
+
+    private ColumnProperty(AutoValueExtension.Context context, String humanName, ExecutableElement element,
+            ColumnProperty parent) {
+        super(parent != null ? parent.humanName() + capitalize(humanName) : humanName, element);
+        this.parent = parent;
+        String name = (String) getAnnotationValue(element, ColumnName.class, "value");
+        if (parent != null) {
+            columnName = parent.embeddedPrefix() + (name != null ? name : humanName);
+        } else {
+            columnName = name;
+        }
+        TypeMirror adapter = (TypeMirror) getAnnotationValue(element, ColumnAdapter.class, "value");
+        columnAdapter = adapter != null ? (ClassName) TypeName.get(adapter) : null;
+        columnType = columnType(element, type(), storageClass(element));
+        stringPool = stringPool(element, humanName(), type());
+        defaultValue = defaultValue((String) getAnnotationValue(element, ColumnDefault.class, "value"), type());
+        TypeElement embeddedType = parent == null && getAnnotationValue(element, Embedded.class, "prefix") != null
+                ? embeddedType(element)
+                : null;
+        if (embeddedType != null) {
+            embeddedClass = ClassName.get(MoreElements.getPackage(embeddedType).getQualifiedName().toString(),
+                    "AutoValue_" + Joiner.on('_').join(ClassName.get(embeddedType).simpleNames()));
+            embeddedProperties = embeddedProperties(context, embeddedType);
+        } else {
+            embeddedClass = null;
+            embeddedProperties = null;
+        }
+    }
+
+    // Embedded types have to be AutoValue classes in the same package so that the generated
+    // constructor of their AutoValue_ class can be called
+    private static TypeElement embeddedType(ExecutableElement element) {
+        TypeMirror type = element.getReturnType();
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+        if (!isAutoValue(typeElement)
+                || !MoreElements.getPackage(typeElement).equals(MoreElements.getPackage(element))) {
+            return null;
+        }
+        return typeElement;
+    }
+
+    private static boolean isAutoValue(TypeElement element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(AUTO_VALUE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The properties in the order of the AutoValue_ constructor, with get and is prefixes removed
+    // like AutoValue does when all of them have one. Like AutoValue this includes inherited
+    // abstract methods and skips the ones that extensions implement.
+    private ImmutableList<ColumnProperty> embeddedProperties(
+            AutoValueExtension.Context context, TypeElement type) {
+        ProcessingEnvironment env = context.processingEnvironment();
+        List<ExecutableElement> methods = new ArrayList<>();
+        boolean allPrefixed = true;
+        for (ExecutableElement method : MoreElements.getLocalAndInheritedMethods(
+                type, env.getTypeUtils(), env.getElementUtils())) {
+            if (method.getModifiers().contains(ABSTRACT) && method.getParameters().isEmpty()
+                    && method.getReturnType().getKind() != TypeKind.VOID
+                    && !isObjectMethod(method) && !isExtensionMethod(method)) {
+                methods.add(method);
+                allPrefixed &= prefixLength(method.getSimpleName().toString()) > 0;
+            }
+        }
+        ImmutableList.Builder<ColumnProperty> properties = ImmutableList.builder();
+        for (ExecutableElement method : methods) {
+            String name = method.getSimpleName().toString();
+            if (allPrefixed) {
+                name = Character.toLowerCase(name.charAt(prefixLength(name)))
+                        + name.substring(prefixLength(name) + 1);
+            }
+            properties.add(new ColumnProperty(context, name, method, this));
+        }
+        return properties.build();
+    }
+
+    private static boolean isObjectMethod(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        return name.equals("toString") || name.equals("hashCode");
+    }
+
+    // toContentValues() and row arrays are implemented by the extensions instead of being properties
+    private static boolean isExtensionMethod(ExecutableElement method) {
+        TypeName returnType = TypeName.get(method.getReturnType());
+        return returnType.equals(CONTENT_VALUES) || returnType.equals(ArrayTypeName.of(Object.class));
+    }
+
+    private static int prefixLength(String name) {
+        for (String prefix : new String[] {"get", "is"}) {
+            if (name.length() > prefix.length() && name.startsWith(prefix)
+                    && Character.isUpperCase(name.charAt(prefix.length()))) {
+                return prefix.length();
+            }
+        }
+        return 0;
+    }
 
-    private ColumnProperty(String humanName, ExecutableElement element) {
-        super(humanName, element);
-        columnName = (String) getAnnotationValue(element, ColumnName.class, "value");
-        supportedType = SUPPORTED_TYPES.contains(type());
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private String embeddedPrefix() {
+        return (String) getAnnotationValue(element(), Embedded.class, "prefix");
+    }
+
+    // @Dedupe only applies to String properties, every property gets its own pool
+    private static FieldSpec stringPool(ExecutableElement element, String humanName, TypeName type) {
+        Object size = getAnnotationValue(element, Dedupe.class, "size");
+        if (size == null || !type.equals(TypeName.get(String.class)) || (Integer) size <= 0) {
+            return null;
+        }
+        String name = CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, humanName) + "_POOL";
+        return FieldSpec.builder(STRING_POOL, name, PRIVATE, STATIC, FINAL)
+                .initializer("new $T($L)", STRING_POOL, size)
+                .build();
+    }
+
+    // The literal of @ColumnDefault parsed as the primitive type of the property, null if the
+    // property isn't primitive or the literal doesn't fit the type
+    private static Object defaultValue(String literal, TypeName type) {
+        if (literal == null) {
+            return null;
+        }
+        try {
+            if (type.equals(TypeName.INT)) {
+                return Integer.parseInt(literal);
+            } else if (type.equals(TypeName.LONG)) {
+                return Long.parseLong(literal);
+            } else if (type.equals(TypeName.SHORT)) {
+                return Short.parseShort(literal);
+            } else if (type.equals(TypeName.DOUBLE)) {
+                double value = Double.parseDouble(literal);
+                return Double.isInfinite(value) || Double.isNaN(value) ? null : value;
+            } else if (type.equals(TypeName.FLOAT)) {
+                float value = Float.parseFloat(literal);
+                return Float.isInfinite(value) || Float.isNaN(value) ? null : value;
+            } else if (type.equals(TypeName.BOOLEAN)) {
+                return "true".equals(literal) || "false".equals(literal) ? Boolean.valueOf(literal) : null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return null;
     }
 
     public boolean supportedType() {
-        return supportedType;
+        if (embeddedProperties != null) {
+            for (ColumnProperty property : embeddedProperties) {
+                if (property.columnAdapter() != null || !property.supportedType()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return columnType != null;
+    }
+
+    /**
+     * Returns the properties of the type of an {@code @Embedded} property with their prefixed
+     * column names or {@code null} if this property isn't embedded.
+     */
+    public ImmutableList<ColumnProperty> embeddedProperties() {
+        return embeddedProperties;
+    }
+
+    /** Returns the class whose constructor creates the value of an {@code @Embedded} property. */
+    public ClassName embeddedClass() {
+        return embeddedClass;
+    }
+
+    /**
+     * Returns whether the column has to exist, which is the case for properties that aren't
+     * nullable and aren't part of a nullable {@code @Embedded} property.
+     */
+    public boolean required() {
+        return !nullable() && (parent == null || parent.required());
+    }
+
+    /**
+     * Returns whether the property is annotated with {@code @ColumnStorage} but its type can't be
+     * stored in that storage class.
+     */
+    public boolean unsupportedColumnStorage() {
+        return columnAdapter == null && columnType == null && storageClass(element()) != null;
+    }
+
+    /** Returns the size of the property's {@code @Dedupe} or {@code null} if it isn't annotated. */
+    public Integer dedupeSize() {
+        return (Integer) getAnnotationValue(element(), Dedupe.class, "size");
+    }
+
+    /** Returns whether the property is annotated with {@code @ColumnDefault}. */
+    public boolean hasColumnDefault() {
+        return getAnnotationValue(element(), ColumnDefault.class, "value") != null;
+    }
+
+    /**
+     * Returns the Java literal of the {@code @ColumnDefault} or {@code null} if there is none or it
+     * isn't a valid constant of the property's primitive type.
+     */
+    public CodeBlock defaultValue() {
+        if (defaultValue instanceof Long) {
+            return CodeBlock.of("$LL", defaultValue);
+        } else if (defaultValue instanceof Float) {
+            return CodeBlock.of("$Lf", defaultValue);
+        }
+        return defaultValue != null ? CodeBlock.of("$L", defaultValue) : null;
+    }
+
+    /**
+     * Returns the Java literal of the {@code @ColumnDefault} as it is bound to a statement, with
+     * booleans as {@code 1L} or {@code 0L}, or {@code null} if there is none.
+     */
+    public CodeBlock bindDefaultValue() {
+        if (defaultValue instanceof Boolean) {
+            return CodeBlock.of((Boolean) defaultValue ? "1L" : "0L");
+        }
+        return defaultValue();
+    }
+
+    /** Returns the SQL literal of the {@code @ColumnDefault} or {@code null} if there is none. */
+    public String sqlDefaultValue() {
+        if (defaultValue instanceof Boolean) {
+            return (Boolean) defaultValue ? "1" : "0";
+        }
+        return defaultValue != null ? defaultValue.toString() : null;
+    }
+
+    /** Returns the properties with the properties of {@code @Embedded} types in their place. */
+    public static ImmutableList<ColumnProperty> flatten(List<ColumnProperty> properties) {
+        ImmutableList.Builder<ColumnProperty> flattened = ImmutableList.builder();
+        for (ColumnProperty property : properties) {
+            if (property.embeddedProperties != null) {
+                flattened.addAll(property.embeddedProperties);
+            } else {
+                flattened.add(property);
+            }
+        }
+        return flattened.build();
     }
 
     public String columnName() {
         return columnName != null ? columnName : humanName();
     }
 
+    /** Returns the column name as a quoted SQL identifier, see {@link #quote(String)}. */
+    public String quotedColumnName() {
+        return quote(columnName());
+    }
+
+    /**
+     * Returns {@code identifier} in double quotes so that names that are SQL keywords or contain
+     * special characters can be used in generated statements.
+     */
+    public static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
     public ClassName columnAdapter() {
-        TypeMirror mirror = (TypeMirror) getAnnotationValue(element(), ColumnAdapter.class, "value");
-        return mirror != null ? (ClassName) TypeName.get(mirror) : null;
+        return columnAdapter;
     }
 
-    public String cursorMethod() {
-        if (!supportedType) {
-            return null;
+    /** Returns the code that reads the property from the column at {@code columnIndex}. */
+    public CodeBlock readValue(Object columnIndex) {
+        if (stringPool != null) {
+            return CodeBlock.of("$N.intern(cursor.getString($L))", stringPool, columnIndex);
         }
-        TypeName type = type();
-        if (type.equals(TypeName.get(byte[].class)) || type.equals(TypeName.get(Byte[].class))) {
-            return "cursor.getBlob($L)";
+        if (columnType.formatType != null) {
+            return CodeBlock.of(columnType.cursorMethod, columnType.formatType, columnIndex);
         }
-        if (type.equals(TypeName.DOUBLE) || type.equals(TypeName.DOUBLE.box())) {
-            return "cursor.getDouble($L)";
+        return CodeBlock.of(columnType.cursorMethod, columnIndex);
+    }
+
+    /**
+     * Returns the code that reads the column at {@code columnIndex} as the type it is stored as,
+     * which is the same as {@link #readValue(Object)} unless the property's type is converted.
+     */
+    public CodeBlock readStoredValue(Object columnIndex) {
+        if (!columnType.converted && stringPool == null) {
+            return readValue(columnIndex);
         }
-        if (type.equals(TypeName.FLOAT) || type.equals(TypeName.FLOAT.box())) {
-            return "cursor.getFloat($L)";
+        return CodeBlock.of("cursor.$L($L)", columnType.storageClass.cursorMethod(), columnIndex);
+    }
+
+    /** Returns the code that converts the property's value to the type it is stored as. */
+    public CodeBlock writeValue() {
+        CodeBlock value = parent != null
+                ? CodeBlock.of("$N().$N()", parent.methodName(), methodName())
+                : CodeBlock.of("$N()", methodName());
+        if (!columnType.converted) {
+            return value;
         }
-        if (type.equals(TypeName.INT) || type.equals(TypeName.INT.box())) {
-            return "cursor.getInt($L)";
+        CodeBlock converted = columnType.writeType != null
+                ? CodeBlock.of(columnType.writeFormat, columnType.writeType, value)
+                : CodeBlock.of(columnType.writeFormat, value);
+        if (nullable()) {
+            return CodeBlock.of("$L != null ? $L : null", value, converted);
         }
-        if (type.equals(TypeName.LONG) || type.equals(TypeName.LONG.box())) {
-            return "cursor.getLong($L)";
+        return converted;
+    }
+
+    /** Returns the code that gets the property's value from {@code receiver}. */
+    public CodeBlock value(String receiver) {
+        return parent != null
+                ? CodeBlock.of("$L.$N().$N()", receiver, parent.methodName(), methodName())
+                : CodeBlock.of("$L.$N()", receiver, methodName());
+    }
+
+    /**
+     * Returns the code that converts the property's value of {@code receiver} to the type that the
+     * bind method of its storage class takes or {@code null} if it can't be bound. The value must
+     * not be null.
+     */
+    public CodeBlock bindValue(String receiver) {
+        CodeBlock value = value(receiver);
+        if (columnType.converted) {
+            return columnType.writeType != null
+                    ? CodeBlock.of(columnType.writeFormat, columnType.writeType, value)
+                    : CodeBlock.of(columnType.writeFormat, value);
         }
-        if (type.equals(TypeName.SHORT) || type.equals(TypeName.SHORT.box())) {
-            return "cursor.getShort($L)";
+        if (type().equals(TypeName.BOOLEAN) || type().equals(TypeName.BOOLEAN.box())) {
+            return CodeBlock.of("$L ? 1 : 0", value);
         }
-        if (type.equals(TypeName.get(String.class))) {
-            return "cursor.getString($L)";
+        if (type().equals(TypeName.get(Byte[].class))) {
+            return null;
         }
-        if (type.equals(TypeName.BOOLEAN) || type.equals(TypeName.BOOLEAN.box())) {
-            return "cursor.getInt($L) == 1";
+        return value;
+    }
+
+    /** Returns whether reading the property throws for malformed values stored in its column. */
+    public boolean decodeCanFail() {
+        return columnType != null && columnType.decodeCanFail;
+    }
+
+    /** Returns the name of the {@code CursorReads} method for the nullable type or {@code null}. */
+    public String nullableReadMethod() {
+        return columnType != null && stringPool == null ? columnType.nullableReadMethod : null;
+    }
+
+    /** Returns the field that the code from {@link #readValue(Object)} uses or {@code null}. */
+    public FieldSpec readField() {
+        if (stringPool != null) {
+            return stringPool;
+        }
+        return columnType != null ? columnType.readField : null;
+    }
+
+    /** Returns the method that the code from {@link #readValue(Object)} uses or {@code null}. */
+    public MethodSpec readMethod() {
+        return columnType != null ? columnType.readMethod : null;
+    }
+
+    public StorageClass storageClass() {
+        return columnType != null ? columnType.storageClass : null;
+    }
+
+    private static final class ColumnType {
+        final String cursorMethod;
+        final TypeName formatType;
+        final String nullableReadMethod;
+        final StorageClass storageClass;
+        final boolean converted;
+        final String writeFormat;
+        final TypeName writeType;
+        final FieldSpec readField;
+        final MethodSpec readMethod;
+        final boolean decodeCanFail;
+
+        ColumnType(String cursorMethod, String nullableReadMethod, StorageClass storageClass) {
+            this.cursorMethod = cursorMethod;
+            this.formatType = null;
+            this.nullableReadMethod = nullableReadMethod;
+            this.storageClass = storageClass;
+            this.converted = false;
+            this.writeFormat = null;
+            this.writeType = null;
+            this.readField = null;
+            this.readMethod = null;
+            this.decodeCanFail = false;
+        }
+
+        // cursorMethod may reference formatType with $T before the column index, writeFormat may
+        // reference writeType with $T before the value. decodeCanFail is set when cursorMethod
+        // throws for malformed stored values, like unknown enum names or truncated BLOBs.
+        ColumnType(String cursorMethod, TypeName formatType, StorageClass storageClass,
+                String writeFormat, TypeName writeType, FieldSpec readField, MethodSpec readMethod,
+                boolean decodeCanFail) {
+            this.cursorMethod = cursorMethod;
+            this.formatType = formatType;
+            this.nullableReadMethod = null;
+            this.storageClass = storageClass;
+            this.converted = true;
+            this.writeFormat = writeFormat;
+            this.writeType = writeType;
+            this.readField = readField;
+            this.readMethod = readMethod;
+            this.decodeCanFail = decodeCanFail;
         }
-        throw new AssertionError(
-                String.format("supportedType is true but type %s isn't handled", type));
     }
 }
@@ -0,0 +1,23 @@
+package com.gabrielittner.auto.value;
+
+import com.google.auto.value.extension.AutoValueExtension;
+
+public final class Options {
+
+    public static final String QUERY_CACHE = "autovaluecursor.queryCache";
+    public static final String CURSOR_READS = "autovaluecursor.cursorReads";
+    public static final String REGISTRY = "autovaluecursor.registry";
+    public static final String METRICS = "autovaluecursor.metrics";
+    public static final String TRACE = "autovaluecursor.trace";
+    public static final String LENIENT = "autovaluecursor.lenient";
+    public static final String LAYOUT_CACHE = "autovaluecursor.layoutCache";
+    public static final String COLUMN_SWITCH = "autovaluecursor.columnSwitch";
+
+    public static boolean enabled(AutoValueExtension.Context context, String option) {
+        return Boolean.parseBoolean(context.processingEnvironment().getOptions().get(option));
+    }
+
+    private Options() {
+        throw new AssertionError("No instances.");
+    }
+}
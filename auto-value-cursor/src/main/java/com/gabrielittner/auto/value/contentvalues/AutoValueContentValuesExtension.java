@@ -1,41 +1,81 @@
 package com.gabrielittner.auto.value.contentvalues;
 
 import com.gabrielittner.auto.value.ColumnProperty;
+import com.gabrielittner.auto.value.Options;
+import com.gabrielittner.auto.value.cursor.TableName;
 import com.google.auto.service.AutoService;
 import com.google.auto.value.extension.AutoValueExtension;
+import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ExecutableElement;
 
 import static com.gabrielittner.auto.value.cursor.AutoValueCursorExtension.addColumnAdaptersToMethod;
 import static com.gabrielittner.auto.value.util.AutoValueUtil.error;
+import static com.gabrielittner.auto.value.util.AutoValueUtil.getAutoValueClassTypeName;
 import static com.gabrielittner.auto.value.util.AutoValueUtil.newTypeSpecBuilder;
+import static com.gabrielittner.auto.value.util.ElementUtil.getAnnotationValue;
 import static com.gabrielittner.auto.value.util.ElementUtil.getMatchingAbstractMethod;
+import static com.gabrielittner.auto.value.util.ElementUtil.getMatchingStaticMethod;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
 
 @AutoService(AutoValueExtension.class)
 public class AutoValueContentValuesExtension extends AutoValueExtension {
 
     private static final ClassName CONTENT_VALUES =
             ClassName.get("android.content", "ContentValues");
+    private static final ClassName QUERY_CACHE =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "QueryCache");
+    private static final ClassName CURSOR_METRICS =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "CursorMetrics");
+    private static final ClassName SQLITE_DATABASE =
+            ClassName.get("android.database.sqlite", "SQLiteDatabase");
+    private static final ClassName SQLITE_STATEMENT =
+            ClassName.get("android.database.sqlite", "SQLiteStatement");
+    private static final ClassName LIST = ClassName.get("java.util", "List");
+
+    private static final String INSERT_METHOD_NAME = "insertAll";
+    private static final String INSERT_SQL_METHOD_NAME = "insertSql";
+    private static final String BIND_ROW_METHOD_NAME = "bindRow";
+    private static final String MAX_INSERT_ROWS_FIELD_NAME = "MAX_INSERT_ROWS";
+    // SQLITE_MAX_VARIABLE_NUMBER of SQLite versions before 3.32.0, which older Android releases use
+    private static final int MAX_VARIABLE_NUMBER = 999;
+    // SQLITE_MAX_COMPOUND_SELECT, multi-row VALUES are compound SELECTs on the SQLite of API 21-23
+    private static final int MAX_COMPOUND_SELECT = 500;
 
     @Override
     public IncrementalExtensionType incrementalType(ProcessingEnvironment processingEnvironment) {
         return IncrementalExtensionType.ISOLATING;
     }
 
+    @Override
+    public Set<String> getSupportedOptions() {
+        return ImmutableSet.of(Options.QUERY_CACHE, Options.METRICS);
+    }
+
     @Override
     public boolean applicable(Context context) {
-        return getMatchingAbstractMethod(context.abstractMethods(), CONTENT_VALUES).isPresent();
+        return getMatchingAbstractMethod(context.abstractMethods(), CONTENT_VALUES).isPresent()
+                || insertsList(context);
     }
 
     @Override
@@ -53,12 +93,15 @@ public class AutoValueContentValuesExtension extends AutoValueExtension {
             Context context, String className, String classToExtend,boolean isFinal) {
         Optional<ExecutableElement> method =
                 getMatchingAbstractMethod(context.abstractMethods(), CONTENT_VALUES);
-        if (!method.isPresent()) throw new AssertionError("Method is null");
         ImmutableList<ColumnProperty> properties = ColumnProperty.from(context);
 
-        TypeSpec.Builder subclass =
-                newTypeSpecBuilder(context, className, classToExtend, isFinal)
-                        .addMethod(createToContentValuesMethod(context, method.get(), properties));
+        TypeSpec.Builder subclass = newTypeSpecBuilder(context, className, classToExtend, isFinal);
+        if (method.isPresent()) {
+            subclass.addMethod(createToContentValuesMethod(context, method.get(), properties));
+        }
+        if (insertsList(context)) {
+            addInsertMethods(context, subclass, properties);
+        }
 
         return JavaFile.builder(context.packageName(), subclass.build()).build().toString();
     }
@@ -73,9 +116,14 @@ public class AutoValueContentValuesExtension extends AutoValueExtension {
                 MethodSpec.methodBuilder(methodName)
                         .addAnnotation(Override.class)
                         .addModifiers(PUBLIC)
-                        .returns(CONTENT_VALUES)
-                        .addStatement(
-                                "$1T values = new $1T($2L)", CONTENT_VALUES, properties.size());
+                        .returns(CONTENT_VALUES);
+
+        boolean metrics = Options.enabled(context, Options.METRICS);
+        if (metrics) {
+            writeMethod.addStatement("long startNanos = $T.nanoTime()", System.class);
+        }
+        int columnCount = ColumnProperty.flatten(properties).size();
+        writeMethod.addStatement("$1T values = new $1T($2L)", CONTENT_VALUES, columnCount);
 
         ImmutableMap<ClassName, String> columnAdapters = addColumnAdaptersToMethod(writeMethod, properties);
 
@@ -86,13 +134,172 @@ public class AutoValueContentValuesExtension extends AutoValueExtension {
                         columnAdapters.get(property.columnAdapter()),
                         property.columnName(),
                         property.methodName());
+            } else if (property.supportedType() && property.embeddedProperties() != null) {
+                writeEmbeddedProperty(writeMethod, property);
             } else if (property.supportedType()) {
                 writeMethod.addStatement(
-                        "values.put($S, $L())", property.columnName(), property.methodName());
+                        "values.put($S, $L)", property.columnName(), property.writeValue());
             } else {
                 error(context, property, "Property has type that can't be put into ContentValues.");
             }
         }
+        // The values are about to be written, the caller can't be hooked to notify after the write
+        String tableName = (String) getAnnotationValue(context.autoValueClass(), TableName.class, "value");
+        if (tableName != null && Options.enabled(context, Options.QUERY_CACHE)) {
+            writeMethod.addStatement("$T.notifyTableChanged($S)", QUERY_CACHE, tableName);
+        }
+        if (metrics) {
+            writeMethod.addStatement("$T.reportWrite($T.class, 1, $L, $T.nanoTime() - startNanos)",
+                    CURSOR_METRICS, ClassName.get(context.autoValueClass()), columnCount,
+                    System.class);
+        }
         return writeMethod.addStatement("return values").build();
     }
+
+    // A nullable embedded property puts null into all of its columns when it is null
+    private void writeEmbeddedProperty(MethodSpec.Builder writeMethod, ColumnProperty property) {
+        if (property.nullable()) {
+            writeMethod.beginControlFlow("if ($N() != null)", property.methodName());
+        }
+        for (ColumnProperty embeddedProperty : property.embeddedProperties()) {
+            writeMethod.addStatement("values.put($S, $L)",
+                    embeddedProperty.columnName(), embeddedProperty.writeValue());
+        }
+        if (property.nullable()) {
+            writeMethod.nextControlFlow("else");
+            for (ColumnProperty embeddedProperty : property.embeddedProperties()) {
+                writeMethod.addStatement("values.putNull($S)", embeddedProperty.columnName());
+            }
+            writeMethod.endControlFlow();
+        }
+    }
+
+    private boolean insertsList(Context context) {
+        return getMatchingStaticMethod(context.autoValueClass(), TypeName.VOID,
+                SQLITE_DATABASE, getListTypeName(context)).isPresent();
+    }
+
+    private TypeName getListTypeName(Context context) {
+        return ParameterizedTypeName.get(LIST, getAutoValueClassTypeName(context));
+    }
+
+    // Inserts the list with multi-row INSERT statements that bind as many rows as SQLite's
+    // variable limit allows, the statement for full chunks is compiled once. The list is inserted
+    // in a transaction, which joins an enclosing one
+    private void addInsertMethods(
+            Context context, TypeSpec.Builder subclass, ImmutableList<ColumnProperty> properties) {
+        String tableName = (String) getAnnotationValue(context.autoValueClass(), TableName.class, "value");
+        if (tableName == null) {
+            context.processingEnvironment().getMessager().printMessage(ERROR,
+                    "Inserting a list requires a @TableName.", context.autoValueClass());
+            return;
+        }
+        ImmutableList<ColumnProperty> columns = ColumnProperty.flatten(properties);
+        int maxRows = Math.min(MAX_COMPOUND_SELECT,
+                Math.max(1, MAX_VARIABLE_NUMBER / Math.max(1, columns.size())));
+
+        List<String> columnNames = new ArrayList<>();
+        for (ColumnProperty column : columns) {
+            columnNames.add(column.quotedColumnName());
+        }
+        String placeholders = "(" + Joiner.on(", ").join(Collections.nCopies(columns.size(), "?")) + ")";
+        MethodSpec insertSql = MethodSpec.methodBuilder(INSERT_SQL_METHOD_NAME)
+                .addModifiers(PRIVATE, STATIC)
+                .returns(String.class)
+                .addParameter(TypeName.INT, "rows")
+                .addStatement("$1T sql = new $1T($2S)", StringBuilder.class,
+                        "INSERT INTO " + ColumnProperty.quote(tableName) + " (" + Joiner.on(", ").join(columnNames) + ") VALUES ")
+                .beginControlFlow("for (int i = 0; i < rows; i++)")
+                .addStatement("sql.append(i == 0 ? $S : $S)", placeholders, ", " + placeholders)
+                .endControlFlow()
+                .addStatement("return sql.toString()")
+                .build();
+
+        TypeName valueType = getAutoValueClassTypeName(context);
+        MethodSpec.Builder bindRow = MethodSpec.methodBuilder(BIND_ROW_METHOD_NAME)
+                .addModifiers(PRIVATE, STATIC)
+                .addParameter(SQLITE_STATEMENT, "statement")
+                .addParameter(TypeName.INT, "offset")
+                .addParameter(valueType, "value");
+        for (ColumnProperty property : properties) {
+            if (property.columnAdapter() != null) {
+                error(context, property, "Property with a ColumnAdapter can't be bound to an INSERT statement.");
+            } else if (property.embeddedProperties() != null && property.nullable()) {
+                error(context, property, "Nullable embedded property can't be bound to an INSERT statement.");
+            }
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnProperty column = columns.get(i);
+            CodeBlock bindValue = column.supportedType() ? column.bindValue("value") : null;
+            if (bindValue == null) {
+                if (column.columnAdapter() == null) {
+                    error(context, column, "Property has type that can't be bound to an INSERT statement.");
+                }
+                continue;
+            }
+            String bindMethod = column.storageClass().bindMethod();
+            if (column.nullable()) {
+                bindRow.beginControlFlow("if ($L == null)", column.value("value"))
+                        .addStatement("statement.bindNull(offset + $L)", i + 1)
+                        .nextControlFlow("else")
+                        .addStatement("statement.$L(offset + $L, $L)", bindMethod, i + 1, bindValue)
+                        .endControlFlow();
+            } else {
+                bindRow.addStatement("statement.$L(offset + $L, $L)", bindMethod, i + 1, bindValue);
+            }
+        }
+
+        boolean metrics = Options.enabled(context, Options.METRICS);
+        MethodSpec.Builder insertAll = MethodSpec.methodBuilder(INSERT_METHOD_NAME)
+                .addModifiers(STATIC)
+                .addParameter(SQLITE_DATABASE, "db")
+                .addParameter(getListTypeName(context), "values");
+        if (metrics) {
+            insertAll.addStatement("long startNanos = $T.nanoTime()", System.class);
+        }
+        insertAll.addStatement("$T statement = null", SQLITE_STATEMENT)
+                .addStatement("int statementRows = 0")
+                .addStatement("db.beginTransaction()")
+                .beginControlFlow("try")
+                .beginControlFlow("for (int start = 0; start < values.size(); start += $N)",
+                        MAX_INSERT_ROWS_FIELD_NAME)
+                .addStatement("int rows = $T.min($N, values.size() - start)", Math.class,
+                        MAX_INSERT_ROWS_FIELD_NAME)
+                .beginControlFlow("if (rows != statementRows)")
+                .beginControlFlow("if (statement != null)")
+                .addStatement("statement.close()")
+                .endControlFlow()
+                .addStatement("statement = db.compileStatement($N(rows))", insertSql)
+                .addStatement("statementRows = rows")
+                .endControlFlow()
+                .beginControlFlow("for (int row = 0; row < rows; row++)")
+                .addStatement("$N(statement, row * $L, values.get(start + row))",
+                        BIND_ROW_METHOD_NAME, columns.size())
+                .endControlFlow()
+                .addStatement("statement.execute()")
+                .endControlFlow()
+                .addStatement("db.setTransactionSuccessful()")
+                .nextControlFlow("finally")
+                .beginControlFlow("if (statement != null)")
+                .addStatement("statement.close()")
+                .endControlFlow()
+                .addStatement("db.endTransaction()")
+                .endControlFlow();
+        // only reached when the rows were committed, or will be with an enclosing transaction
+        if (metrics) {
+            insertAll.addStatement("$T.reportWrite($T.class, values.size(), $L, $T.nanoTime() - startNanos)",
+                    CURSOR_METRICS, ClassName.get(context.autoValueClass()), columns.size(),
+                    System.class);
+        }
+        if (Options.enabled(context, Options.QUERY_CACHE)) {
+            insertAll.addStatement("$T.notifyTableChanged($S)", QUERY_CACHE, tableName);
+        }
+
+        subclass.addField(FieldSpec.builder(TypeName.INT, MAX_INSERT_ROWS_FIELD_NAME, PRIVATE, STATIC, FINAL)
+                        .initializer("$L", maxRows)
+                        .build())
+                .addMethod(insertAll.build())
+                .addMethod(insertSql)
+                .addMethod(bindRow.build());
+    }
 }
@@ -1,11 +1,15 @@
 package com.gabrielittner.auto.value.cursor;
 
 import com.gabrielittner.auto.value.ColumnProperty;
+import com.gabrielittner.auto.value.Options;
 import com.gabrielittner.auto.value.util.ElementUtil;
 import com.google.auto.service.AutoService;
 import com.google.auto.value.extension.AutoValueExtension;
+import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -15,9 +19,13 @@ import com.squareup.javapoet.NameAllocator;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.TypeElement;
 
@@ -30,6 +38,7 @@ import static com.gabrielittner.auto.value.util.ElementUtil.getMatchingStaticFie
 import static com.gabrielittner.auto.value.util.ElementUtil.getMatchingStaticMethod;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
 
@@ -37,36 +46,133 @@ import static javax.lang.model.element.Modifier.STATIC;
 public class AutoValueCursorExtension extends AutoValueExtension {
 
     private static final ClassName CURSOR = ClassName.get("android.database", "Cursor");
+    private static final ClassName STRING = ClassName.get(String.class);
+    private static final ClassName CONTENT_VALUES =
+            ClassName.get("android.content", "ContentValues");
+    private static final ClassName SQLITE_STATEMENT =
+            ClassName.get("android.database.sqlite", "SQLiteStatement");
+    private static final ClassName CURSOR_READS =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "CursorReads");
+    private static final ClassName CURSOR_METRICS =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "CursorMetrics");
+    private static final ClassName CURSOR_ERRORS =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "CursorErrors");
+    private static final ClassName COLUMN_LAYOUT_CACHE =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "ColumnLayoutCache");
+    private static final ClassName TRACE = ClassName.get("android.os", "Trace");
+    private static final ClassName LIST = ClassName.get("java.util", "List");
+    private static final ClassName ARRAY_LIST = ClassName.get("java.util", "ArrayList");
     private static final ClassName FUNC1 = ClassName.get("rx.functions", "Func1");
     private static final ClassName FUNCTION = ClassName.get("io.reactivex.functions", "Function");
+    private static final ClassName CURSOR_TASK =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "CursorTask");
+    private static final ClassName FUTURE = ClassName.get("java.util.concurrent", "Future");
+    private static final ClassName EXECUTOR = ClassName.get("java.util.concurrent", "Executor");
+    private static final ClassName CALLABLE = ClassName.get("java.util.concurrent", "Callable");
+    private static final ClassName ROW_READER =
+            ClassName.get("com.gabrielittner.auto.value.cursor", "RowReader");
 
     private static final String METHOD_NAME = "createFromCursor";
+    private static final String LIST_METHOD_NAME = "createListFromCursor";
+    private static final String ASYNC_LIST_METHOD_NAME = "createListFromCursorAsync";
+    private static final String COLUMN_INDICES_METHOD_NAME = "columnIndices";
+    private static final String RESOLVE_COLUMN_INDICES_METHOD_NAME = "resolveColumnIndices";
+    private static final String READ_ROW_METHOD_NAME = "readRow";
+    private static final String COLUMN_LAYOUTS_FIELD_NAME = "COLUMN_LAYOUTS";
+    private static final String COPY_ROW_METHOD_NAME = "copyRow";
+    private static final String READ_COLUMNS_METHOD_NAME = "readColumns";
+    private static final String ROW_VALUES_CLASS_NAME = "RowValues";
+
+    // Estimated bytecode size of the statements that read a single property inline. When the
+    // estimate for all properties exceeds MAX_READ_METHOD_SIZE the columns are read by
+    // readColumns methods of at most that size instead, so that createFromCursor and readRow
+    // stay far below HotSpot's 8000 byte HugeMethodLimit and ART's large method threshold and
+    // can still be compiled and inlined.
+    private static final int PROPERTY_READ_SIZE = 18;
+    private static final int NULLABLE_PROPERTY_READ_SIZE = 45;
+    private static final int CURSOR_READS_PROPERTY_READ_SIZE = 14;
+    private static final int ADAPTER_PROPERTY_READ_SIZE = 12;
+    private static final int MAX_READ_METHOD_SIZE = 2000;
+    // Most value classes are only read from a handful of distinct column layouts
+    private static final int COLUMN_LAYOUT_CACHE_SIZE = 4;
     private static final String FUNC1_FIELD_NAME = "MAPPER";
     private static final String FUNC1_METHOD_NAME = "call";
     private static final String FUNCTION_FIELD_NAME = "MAPPER_FUNCTION";
     private static final String FUNCTION_METHOD_NAME = "apply";
+    private static final String ROW_READER_FIELD_NAME = "ROW_READER";
 
     @Override
     public IncrementalExtensionType incrementalType(ProcessingEnvironment processingEnvironment) {
         return IncrementalExtensionType.ISOLATING;
     }
 
+    @Override
+    public Set<String> getSupportedOptions() {
+        return ImmutableSet.of(Options.CURSOR_READS, Options.METRICS, Options.TRACE,
+                Options.LENIENT, Options.LAYOUT_CACHE, Options.COLUMN_SWITCH);
+    }
+
     @Override
     public boolean applicable(Context context) {
         TypeElement valueClass = context.autoValueClass();
         return getMatchingStaticMethod(valueClass, ClassName.get(valueClass), CURSOR).isPresent()
+                || readsList(context)
+                || readsRange(context)
+                || readsAsync(context)
                 || getMatchingStaticField(valueClass, getFunc1TypeName(context)).isPresent()
-                || getMatchingStaticField(valueClass, getFunctionTypeName(context)).isPresent();
+                || getMatchingStaticField(valueClass, getFunctionTypeName(context)).isPresent()
+                || readsWithPrefix(context)
+                || hasRowReader(context)
+                || getMatchingStaticMethod(valueClass, TypeName.VOID, CURSOR, CONTENT_VALUES).isPresent()
+                || getMatchingStaticMethod(valueClass, TypeName.VOID, CURSOR, SQLITE_STATEMENT).isPresent();
     }
 
     @Override
     public String generateClass(
             Context context, String className, String classToExtend, boolean isFinal) {
         ImmutableList<ColumnProperty> properties = ColumnProperty.from(context);
+        TypeElement valueClass = context.autoValueClass();
+
+        for (ColumnProperty property : ColumnProperty.flatten(properties)) {
+            if (property.hasColumnDefault()
+                    && (property.defaultValue() == null || property.columnAdapter() != null)) {
+                error(context, property, "@ColumnDefault requires a primitive property and a constant of its type.");
+            }
+            if (property.unsupportedColumnStorage()) {
+                error(context, property, "Property has type that can't be stored in the @ColumnStorage class.");
+            }
+            Integer dedupeSize = property.dedupeSize();
+            if (dedupeSize != null && !property.type().equals(TypeName.get(String.class))) {
+                error(context, property, "@Dedupe requires a String property.");
+            } else if (dedupeSize != null && dedupeSize <= 0) {
+                error(context, property, "@Dedupe requires a positive size.");
+            }
+        }
+
+        TypeSpec.Builder subclass = newTypeSpecBuilder(context, className, classToExtend, isFinal);
+        boolean layoutCache = Options.enabled(context, Options.LAYOUT_CACHE);
+        if (readsList(context) || readsRange(context) || readsAsync(context)
+                || readsWithPrefix(context) || hasRowReader(context)
+                || layoutCache || Options.enabled(context, Options.LENIENT)
+                || Options.enabled(context, Options.COLUMN_SWITCH) || hasEmbedded(properties)) {
+            if (layoutCache) {
+                subclass.addField(FieldSpec.builder(
+                                COLUMN_LAYOUT_CACHE, COLUMN_LAYOUTS_FIELD_NAME, PRIVATE, STATIC, FINAL)
+                        .initializer("new $T($L)", COLUMN_LAYOUT_CACHE, COLUMN_LAYOUT_CACHE_SIZE)
+                        .build());
+            }
+            subclass.addMethods(createIndexedReadMethods(context, subclass, className, properties));
+        } else {
+            subclass.addMethods(createReadMethods(context, subclass, className, properties));
+        }
+        addReadHelpers(subclass, properties);
 
-        TypeSpec.Builder subclass =
-                newTypeSpecBuilder(context, className, classToExtend, isFinal)
-                        .addMethod(createReadMethod(context, properties));
+        if (getMatchingStaticMethod(valueClass, TypeName.VOID, CURSOR, CONTENT_VALUES).isPresent()) {
+            subclass.addMethod(createCopyToContentValuesMethod(context, properties));
+        }
+        if (getMatchingStaticMethod(valueClass, TypeName.VOID, CURSOR, SQLITE_STATEMENT).isPresent()) {
+            subclass.addMethod(createCopyToStatementMethod(context, properties));
+        }
 
         TypeName func1TypeName = getFunc1TypeName(context);
         if (getMatchingStaticField(context.autoValueClass(), func1TypeName).isPresent()) {
@@ -78,16 +184,82 @@ public class AutoValueCursorExtension extends AutoValueExtension {
             subclass.addField(createRxJava2Mapper(context, functionTypeName));
         }
 
+        if (hasRowReader(context)) {
+            subclass.addField(createRowReader(context, className));
+        }
+
         return JavaFile.builder(context.packageName(), subclass.build()).build().toString();
     }
 
-    private MethodSpec createReadMethod(Context context, ImmutableList<ColumnProperty> properties) {
+    private boolean readsList(Context context) {
+        return getMatchingStaticMethod(context.autoValueClass(), getListTypeName(context), CURSOR).isPresent();
+    }
+
+    private boolean readsRange(Context context) {
+        return getMatchingStaticMethod(context.autoValueClass(), getListTypeName(context),
+                CURSOR, TypeName.INT, TypeName.INT).isPresent();
+    }
+
+    private boolean readsAsync(Context context) {
+        return getMatchingStaticMethod(context.autoValueClass(), getFutureListTypeName(context),
+                CURSOR, EXECUTOR).isPresent();
+    }
+
+    private boolean readsWithPrefix(Context context) {
+        TypeElement valueClass = context.autoValueClass();
+        return getMatchingStaticMethod(valueClass, ClassName.get(valueClass), CURSOR, STRING).isPresent();
+    }
+
+    private boolean hasRowReader(Context context) {
+        return getMatchingStaticField(context.autoValueClass(), getRowReaderTypeName(context)).isPresent();
+    }
+
+    private boolean hasEmbedded(ImmutableList<ColumnProperty> properties) {
+        for (ColumnProperty property : properties) {
+            if (property.embeddedProperties() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Fields and methods that the read code of converted types like enums relies on, types that
+    // are used by multiple properties share them
+    private void addReadHelpers(TypeSpec.Builder subclass, ImmutableList<ColumnProperty> properties) {
+        Set<String> names = new LinkedHashSet<>();
+        for (ColumnProperty property : ColumnProperty.flatten(properties)) {
+            if (property.columnAdapter() != null) {
+                continue;
+            }
+            FieldSpec field = property.readField();
+            if (field != null && names.add(field.name)) {
+                subclass.addField(field);
+            }
+            MethodSpec method = property.readMethod();
+            if (method != null && names.add(method.name)) {
+                subclass.addMethod(method);
+            }
+        }
+    }
+
+    private ImmutableList<MethodSpec> createReadMethods(Context context, TypeSpec.Builder subclass,
+            String className, ImmutableList<ColumnProperty> properties) {
+        boolean cursorReads = Options.enabled(context, Options.CURSOR_READS);
+        Map<ColumnProperty, Integer> chunks = readChunks(properties, cursorReads);
+        ClassName rowValues = ClassName.get(context.packageName(), className, ROW_VALUES_CLASS_NAME);
+        String valuesName = newLocalName(properties, "values");
+        List<MethodSpec.Builder> chunkMethods = new ArrayList<>();
+
         MethodSpec.Builder readMethod =
                 MethodSpec.methodBuilder(METHOD_NAME)
                         .addModifiers(STATIC)
                         .returns(getFinalClassClassName(context))
                         .addParameter(CURSOR, "cursor");
 
+        boolean metrics = Options.enabled(context, Options.METRICS);
+        boolean trace = Options.enabled(context, Options.TRACE);
+        beginReadMethod(context, readMethod, METHOD_NAME, trace, metrics);
+
         ImmutableMap<ClassName, String> columnAdapters = addColumnAdaptersToMethod(readMethod, properties);
 
         String[] names = new String[properties.size()];
@@ -103,10 +275,21 @@ public class AutoValueCursorExtension extends AutoValueExtension {
                         columnAdapters.get(property.columnAdapter()),
                         property.columnName());
             } else if (property.supportedType()) {
-                if (property.nullable()) {
-                    readMethod.addCode(readNullableProperty(property));
+                MethodSpec.Builder method = readMethod;
+                Integer chunk = chunks.get(property);
+                if (chunk != null) {
+                    method = readColumnsMethod(chunkMethods, chunk, false, false, rowValues, valuesName);
+                    names[i] = valuesName + "." + property.humanName();
+                }
+                if (property.defaultValue() != null) {
+                    method.addCode(readDefaultProperty(property));
+                } else if (property.nullable()) {
+                    method.addCode(readNullableProperty(property, cursorReads));
                 } else {
-                    readMethod.addCode(readProperty(property));
+                    method.addCode(readProperty(property));
+                }
+                if (chunk != null) {
+                    method.addStatement("$N.$N = $N", valuesName, property.humanName(), property.humanName());
                 }
             } else if (property.nullable()) {
                 readMethod.addCode(
@@ -117,26 +300,671 @@ public class AutoValueCursorExtension extends AutoValueExtension {
                 error(context, property, "Property has type that can't be read from Cursor.");
             }
         }
-        return readMethod
+        addReadColumnsCalls(subclass, readMethod, chunkMethods, chunks, rowValues, valuesName, false, false);
+        if (metrics) {
+            String valueName = newLocalName(properties, "value");
+            readMethod
+                    .addCode("$T $N = ", getFinalClassClassName(context), valueName)
+                    .addCode(newFinalClassConstructorCall(context, names))
+                    .addStatement("$T.reportRead($T.class, 1, $L, $T.nanoTime() - startNanos)",
+                            CURSOR_METRICS, ClassName.get(context.autoValueClass()),
+                            properties.size(), System.class)
+                    .addStatement("return $N", valueName);
+        } else {
+            readMethod
+                    .addCode("return ")
+                    .addCode(newFinalClassConstructorCall(context, names));
+        }
+        endReadMethod(readMethod, trace);
+        ImmutableList.Builder<MethodSpec> methods = ImmutableList.<MethodSpec>builder()
+                .add(readMethod.build());
+        for (MethodSpec.Builder chunkMethod : chunkMethods) {
+            methods.add(chunkMethod.build());
+        }
+        return methods.build();
+    }
+
+    // Used when the value class also reads lists, in lenient mode or with the layout cache: the
+    // column indices are resolved once per cursor by columnIndices() and every row is read by
+    // readRow(), createFromCursor() reads a single row. In lenient mode columnIndices() returns
+    // null when a required column is missing and readRow() returns null for rows with unexpected
+    // nulls. With the layout cache columnIndices() only resolves the names for unknown layouts.
+    // With the column switch the names are resolved in one pass over cursor.getColumnNames().
+    // Reads with a column prefix and the RowReader resolve prefixed names with their own
+    // columnIndices(cursor, prefix) and share readRow().
+    private ImmutableList<MethodSpec> createIndexedReadMethods(Context context,
+            TypeSpec.Builder subclass, String className, ImmutableList<ColumnProperty> properties) {
+        boolean prefixedColumnIndices = readsWithPrefix(context) || hasRowReader(context);
+        boolean lenient = Options.enabled(context, Options.LENIENT);
+        boolean layoutCache = Options.enabled(context, Options.LAYOUT_CACHE);
+        boolean metrics = Options.enabled(context, Options.METRICS);
+        boolean trace = Options.enabled(context, Options.TRACE);
+        ClassName finalClass = getFinalClassClassName(context);
+        TypeName valueClass = ClassName.get(context.autoValueClass());
+        TypeName intArray = ArrayTypeName.of(TypeName.INT);
+
+        MethodSpec.Builder readRowMethod =
+                MethodSpec.methodBuilder(READ_ROW_METHOD_NAME)
+                        .addModifiers(PRIVATE, STATIC)
+                        .returns(finalClass)
+                        .addParameter(CURSOR, "cursor")
+                        .addParameter(intArray, "columnIndices");
+
+        ImmutableMap<ClassName, String> columnAdapters = addColumnAdaptersToMethod(readRowMethod, properties);
+
+        Map<ColumnProperty, Integer> chunks =
+                readChunks(properties, Options.enabled(context, Options.CURSOR_READS));
+        ClassName rowValues = ClassName.get(context.packageName(), className, ROW_VALUES_CLASS_NAME);
+        String valuesName = newLocalName(properties, "values");
+        List<MethodSpec.Builder> chunkMethods = new ArrayList<>();
+
+        List<ColumnProperty> columns = new ArrayList<>();
+        String[] names = new String[properties.size()];
+        for (int i = 0; i < properties.size(); i++) {
+            ColumnProperty property = properties.get(i);
+            names[i] = property.humanName();
+
+            if (property.columnAdapter() != null && prefixedColumnIndices) {
+                error(context, property, "Property with a ColumnAdapter can't be read with a column prefix.");
+            } else if (property.columnAdapter() != null) {
+                readRowMethod.addStatement(
+                        "$T $N = $L.fromCursor(cursor, $S)",
+                        property.type(),
+                        property.humanName(),
+                        columnAdapters.get(property.columnAdapter()),
+                        property.columnName());
+            } else if (property.supportedType() && property.embeddedProperties() != null) {
+                addEmbeddedIndexedRead(context, readRowMethod, property, columns);
+            } else if (property.supportedType() && chunks.containsKey(property)) {
+                MethodSpec.Builder chunkMethod = readColumnsMethod(
+                        chunkMethods, chunks.get(property), true, lenient, rowValues, valuesName);
+                addIndexedRead(context, chunkMethod, property, columns, lenient ? "return false" : "return null");
+                chunkMethod.addStatement("$N.$N = $N", valuesName, property.humanName(), property.humanName());
+                names[i] = valuesName + "." + property.humanName();
+            } else if (property.supportedType()) {
+                addIndexedRead(context, readRowMethod, property, columns, "return null");
+            } else if (property.nullable()) {
+                readRowMethod.addCode(
+                        "$T $N = null; // can't be read from cursor\n",
+                        property.type(),
+                        property.humanName());
+            } else {
+                error(context, property, "Property has type that can't be read from Cursor.");
+            }
+        }
+        addReadColumnsCalls(subclass, readRowMethod, chunkMethods, chunks, rowValues, valuesName, true, lenient);
+        readRowMethod
                 .addCode("return ")
-                .addCode(newFinalClassConstructorCall(context, names))
+                .addCode(newFinalClassConstructorCall(context, names));
+
+        MethodSpec columnIndicesMethod = createColumnIndicesMethod(context,
+                layoutCache ? RESOLVE_COLUMN_INDICES_METHOD_NAME : COLUMN_INDICES_METHOD_NAME, columns, false);
+
+        ImmutableList.Builder<MethodSpec> indexMethods = ImmutableList.builder();
+        if (layoutCache) {
+            MethodSpec.Builder cachedColumnIndicesMethod =
+                    MethodSpec.methodBuilder(COLUMN_INDICES_METHOD_NAME)
+                            .addModifiers(PRIVATE, STATIC)
+                            .returns(intArray)
+                            .addParameter(CURSOR, "cursor")
+                            .addStatement("String[] columnNames = cursor.getColumnNames()")
+                            .addStatement("int[] columnIndices = $N.get(columnNames)", COLUMN_LAYOUTS_FIELD_NAME)
+                            .beginControlFlow("if (columnIndices == null)")
+                            .addStatement("columnIndices = $N(cursor)", RESOLVE_COLUMN_INDICES_METHOD_NAME);
+            if (lenient) {
+                cachedColumnIndicesMethod
+                        .beginControlFlow("if (columnIndices != null)")
+                        .addStatement("$N.put(columnNames, columnIndices)", COLUMN_LAYOUTS_FIELD_NAME)
+                        .endControlFlow();
+            } else {
+                cachedColumnIndicesMethod.addStatement("$N.put(columnNames, columnIndices)", COLUMN_LAYOUTS_FIELD_NAME);
+            }
+            cachedColumnIndicesMethod
+                    .endControlFlow()
+                    .addStatement("return columnIndices");
+            indexMethods.add(cachedColumnIndicesMethod.build());
+        }
+        indexMethods.add(columnIndicesMethod);
+        if (prefixedColumnIndices) {
+            indexMethods.add(createColumnIndicesMethod(context, COLUMN_INDICES_METHOD_NAME, columns, true));
+        }
+
+        MethodSpec.Builder readMethod =
+                MethodSpec.methodBuilder(METHOD_NAME)
+                        .addModifiers(STATIC)
+                        .returns(finalClass)
+                        .addParameter(CURSOR, "cursor");
+        beginReadMethod(context, readMethod, METHOD_NAME, trace, metrics);
+        if (lenient) {
+            readMethod
+                    .addStatement("int[] columnIndices = $N(cursor)", COLUMN_INDICES_METHOD_NAME)
+                    .addStatement("$T value = columnIndices != null ? $N(cursor, columnIndices) : null",
+                            finalClass, READ_ROW_METHOD_NAME);
+            if (metrics) {
+                readMethod.addStatement("$T.reportRead($T.class, value != null ? 1 : 0, $L, $T.nanoTime() - startNanos)",
+                        CURSOR_METRICS, valueClass, properties.size(), System.class);
+            }
+            readMethod.addStatement("return value");
+        } else if (metrics) {
+            readMethod
+                    .addStatement("$T value = $N(cursor, $N(cursor))",
+                            finalClass, READ_ROW_METHOD_NAME, COLUMN_INDICES_METHOD_NAME)
+                    .addStatement("$T.reportRead($T.class, 1, $L, $T.nanoTime() - startNanos)",
+                            CURSOR_METRICS, valueClass, properties.size(), System.class)
+                    .addStatement("return value");
+        } else {
+            readMethod.addStatement("return $N(cursor, $N(cursor))",
+                    READ_ROW_METHOD_NAME, COLUMN_INDICES_METHOD_NAME);
+        }
+        endReadMethod(readMethod, trace);
+
+        ImmutableList.Builder<MethodSpec> readMethods = ImmutableList.<MethodSpec>builder()
+                .add(readMethod.build());
+        if (readsWithPrefix(context)) {
+            readMethods.add(createPrefixedReadMethod(context));
+        }
+        if (readsList(context) || readsAsync(context)) {
+            readMethods.add(createListReadMethod(context, properties.size()));
+        }
+        if (readsAsync(context)) {
+            readMethods.add(createAsyncListReadMethod(context));
+        }
+        if (readsRange(context)) {
+            readMethods.add(createRangeReadMethod(context, properties.size()));
+        }
+        readMethods
+                .addAll(indexMethods.build())
+                .add(readRowMethod.build());
+        for (MethodSpec.Builder chunkMethod : chunkMethods) {
+            readMethods.add(chunkMethod.build());
+        }
+        return readMethods.build();
+    }
+
+    // Assigns the properties that are read in the readColumns methods to chunks of at most
+    // MAX_READ_METHOD_SIZE, empty when all of them fit into a single read method. Properties with
+    // a ColumnAdapter and embedded properties are always read in the read method itself.
+    private Map<ColumnProperty, Integer> readChunks(
+            ImmutableList<ColumnProperty> properties, boolean cursorReads) {
+        Map<ColumnProperty, Integer> chunks = new LinkedHashMap<>();
+        int totalSize = 0;
+        for (ColumnProperty property : properties) {
+            totalSize += estimateReadSize(property, cursorReads);
+        }
+        if (totalSize <= MAX_READ_METHOD_SIZE) {
+            return chunks;
+        }
+        int chunk = 0;
+        int chunkSize = 0;
+        for (ColumnProperty property : properties) {
+            if (property.columnAdapter() != null || !property.supportedType()
+                    || property.embeddedProperties() != null) {
+                continue;
+            }
+            int size = estimateReadSize(property, cursorReads);
+            if (chunkSize > 0 && chunkSize + size > MAX_READ_METHOD_SIZE) {
+                chunk++;
+                chunkSize = 0;
+            }
+            chunkSize += size;
+            chunks.put(property, chunk);
+        }
+        return chunks;
+    }
+
+    // In lenient mode the readColumns methods return false to skip the row
+    private MethodSpec.Builder readColumnsMethod(List<MethodSpec.Builder> chunkMethods, int chunk,
+            boolean indexed, boolean lenient, ClassName rowValues, String valuesName) {
+        if (chunk < chunkMethods.size()) {
+            return chunkMethods.get(chunk);
+        }
+        MethodSpec.Builder method = MethodSpec.methodBuilder(READ_COLUMNS_METHOD_NAME + chunk)
+                .addModifiers(PRIVATE, STATIC)
+                .returns(lenient ? TypeName.BOOLEAN : TypeName.VOID)
+                .addParameter(CURSOR, "cursor");
+        if (indexed) {
+            method.addParameter(ArrayTypeName.of(TypeName.INT), "columnIndices");
+        }
+        method.addParameter(rowValues, valuesName);
+        chunkMethods.add(method);
+        return method;
+    }
+
+    // Adds the RowValues holder that the readColumns methods fill and calls them from the read method
+    private void addReadColumnsCalls(TypeSpec.Builder subclass, MethodSpec.Builder readMethod,
+            List<MethodSpec.Builder> chunkMethods, Map<ColumnProperty, Integer> chunks,
+            ClassName rowValues, String valuesName, boolean indexed, boolean lenient) {
+        if (chunkMethods.isEmpty()) {
+            return;
+        }
+        TypeSpec.Builder rowValuesType = TypeSpec.classBuilder(rowValues)
+                .addModifiers(PRIVATE, STATIC, FINAL);
+        for (ColumnProperty property : chunks.keySet()) {
+            rowValuesType.addField(property.type(), property.humanName());
+        }
+        subclass.addType(rowValuesType.build());
+
+        readMethod.addStatement("$1T $2N = new $1T()", rowValues, valuesName);
+        String arguments = indexed ? "cursor, columnIndices" : "cursor";
+        for (int i = 0; i < chunkMethods.size(); i++) {
+            if (lenient) {
+                chunkMethods.get(i).addStatement("return true");
+                readMethod.beginControlFlow("if (!$N$L($L, $N))",
+                                READ_COLUMNS_METHOD_NAME, i, arguments, valuesName)
+                        .addStatement("return null")
+                        .endControlFlow();
+            } else {
+                readMethod.addStatement("$N$L($L, $N)", READ_COLUMNS_METHOD_NAME, i, arguments, valuesName);
+            }
+        }
+    }
+
+    private MethodSpec createListReadMethod(Context context, int propertyCount) {
+        boolean metrics = Options.enabled(context, Options.METRICS);
+        boolean trace = Options.enabled(context, Options.TRACE);
+        MethodSpec.Builder listMethod =
+                MethodSpec.methodBuilder(LIST_METHOD_NAME)
+                        .addModifiers(STATIC)
+                        .returns(getListTypeName(context))
+                        .addParameter(CURSOR, "cursor");
+        beginReadMethod(context, listMethod, LIST_METHOD_NAME, trace, metrics);
+        listMethod
+                .addStatement("int[] columnIndices = $N(cursor)", COLUMN_INDICES_METHOD_NAME)
+                .addStatement("$T values = new $T(cursor.getCount())",
+                        getListTypeName(context),
+                        ParameterizedTypeName.get(ARRAY_LIST, getAutoValueClassTypeName(context)));
+        if (Options.enabled(context, Options.LENIENT)) {
+            listMethod
+                    .beginControlFlow("if (columnIndices != null)")
+                    .addStatement("cursor.moveToPosition(-1)")
+                    .beginControlFlow("while (cursor.moveToNext())")
+                    .addCode(addNonNullRow(context))
+                    .endControlFlow()
+                    .endControlFlow();
+        } else {
+            listMethod
+                    .addStatement("cursor.moveToPosition(-1)")
+                    .beginControlFlow("while (cursor.moveToNext())")
+                    .addStatement("values.add($N(cursor, columnIndices))", READ_ROW_METHOD_NAME)
+                    .endControlFlow();
+        }
+        endListReadMethod(context, listMethod, propertyCount);
+        return listMethod.build();
+    }
+
+    // Reads the rows [start, start + count) of the cursor, it is moved to start once and then
+    // advanced row by row
+    private MethodSpec createRangeReadMethod(Context context, int propertyCount) {
+        boolean metrics = Options.enabled(context, Options.METRICS);
+        boolean trace = Options.enabled(context, Options.TRACE);
+        MethodSpec.Builder rangeMethod =
+                MethodSpec.methodBuilder(LIST_METHOD_NAME)
+                        .addModifiers(STATIC)
+                        .returns(getListTypeName(context))
+                        .addParameter(CURSOR, "cursor")
+                        .addParameter(TypeName.INT, "start")
+                        .addParameter(TypeName.INT, "count");
+        beginReadMethod(context, rangeMethod, LIST_METHOD_NAME, trace, metrics);
+        rangeMethod
+                .addStatement("int[] columnIndices = $N(cursor)", COLUMN_INDICES_METHOD_NAME)
+                .addStatement("$T values = new $T($T.max(0, $T.min(count, cursor.getCount() - start)))",
+                        getListTypeName(context),
+                        ParameterizedTypeName.get(ARRAY_LIST, getAutoValueClassTypeName(context)),
+                        Math.class, Math.class);
+        if (Options.enabled(context, Options.LENIENT)) {
+            rangeMethod
+                    .beginControlFlow("if (columnIndices != null && count > 0 && cursor.moveToPosition(start))")
+                    .addStatement("int remaining = count")
+                    .beginControlFlow("do")
+                    .addCode(addNonNullRow(context))
+                    .endControlFlow("while (--remaining > 0 && cursor.moveToNext())")
+                    .endControlFlow();
+        } else {
+            rangeMethod
+                    .beginControlFlow("if (count > 0 && cursor.moveToPosition(start))")
+                    .addStatement("int remaining = count")
+                    .beginControlFlow("do")
+                    .addStatement("values.add($N(cursor, columnIndices))", READ_ROW_METHOD_NAME)
+                    .endControlFlow("while (--remaining > 0 && cursor.moveToNext())")
+                    .endControlFlow();
+        }
+        endListReadMethod(context, rangeMethod, propertyCount);
+        return rangeMethod.build();
+    }
+
+    // Reads the list on the executor, CursorTask closes the cursor afterwards
+    private MethodSpec createAsyncListReadMethod(Context context) {
+        TypeName listType = getListTypeName(context);
+        TypeSpec read =
+                TypeSpec.anonymousClassBuilder("")
+                        .addSuperinterface(ParameterizedTypeName.get(CALLABLE, listType))
+                        .addMethod(MethodSpec.methodBuilder("call")
+                                .addAnnotation(Override.class)
+                                .addModifiers(PUBLIC)
+                                .returns(listType)
+                                .addStatement("return $N(cursor)", LIST_METHOD_NAME)
+                                .build())
+                        .build();
+        return MethodSpec.methodBuilder(ASYNC_LIST_METHOD_NAME)
+                .addModifiers(STATIC)
+                .returns(getFutureListTypeName(context))
+                .addParameter(CURSOR, "cursor", FINAL)
+                .addParameter(EXECUTOR, "executor")
+                .addStatement("return $T.execute(cursor, executor, $L)", CURSOR_TASK, read)
+                .build();
+    }
+
+    // In lenient mode readRow() returns null for rows that are skipped
+    private CodeBlock addNonNullRow(Context context) {
+        return CodeBlock.builder()
+                .addStatement("$T value = $N(cursor, columnIndices)",
+                        getFinalClassClassName(context), READ_ROW_METHOD_NAME)
+                .beginControlFlow("if (value != null)")
+                .addStatement("values.add(value)")
+                .endControlFlow()
+                .build();
+    }
+
+    private void endListReadMethod(Context context, MethodSpec.Builder listMethod, int propertyCount) {
+        if (Options.enabled(context, Options.METRICS)) {
+            listMethod.addStatement("$T.reportRead($T.class, values.size(), $L, $T.nanoTime() - startNanos)",
+                    CURSOR_METRICS, ClassName.get(context.autoValueClass()), propertyCount, System.class);
+        }
+        listMethod.addStatement("return values");
+        endReadMethod(listMethod, Options.enabled(context, Options.TRACE));
+    }
+
+    // In lenient mode a value that can't be decoded is reported and the row is skipped
+    private void addIndexedRead(Context context, MethodSpec.Builder readRowMethod,
+            ColumnProperty property, List<ColumnProperty> columns, String skipRow) {
+        boolean cursorReads = Options.enabled(context, Options.CURSOR_READS);
+        boolean lenient = Options.enabled(context, Options.LENIENT);
+        ClassName valueClass = ClassName.get(context.autoValueClass());
+        CodeBlock columnIndex = CodeBlock.of("columnIndices[$L]", columns.size());
+        columns.add(property);
+        CodeBlock value;
+        if (property.defaultValue() != null) {
+            String columnIndexVar = columnIndexVar(property);
+            readRowMethod.addStatement("int $L = $L", columnIndexVar, columnIndex);
+            value = CodeBlock.of("($L) ? $L : $L", isNullOrMissing(columnIndexVar),
+                    property.defaultValue(), property.readValue(columnIndexVar));
+        } else if (!property.nullable() && lenient) {
+            // columns of a nullable embedded property are checked before it is read
+            if (!property.type().isPrimitive() && property.required()) {
+                readRowMethod
+                        .beginControlFlow("if (cursor.isNull($L))", columnIndex)
+                        .addStatement("$T.reportNullColumn($T.class, $S, cursor.getPosition())",
+                                CURSOR_ERRORS, valueClass, property.columnName())
+                        .addStatement(skipRow)
+                        .endControlFlow();
+            }
+            value = property.readValue(columnIndex);
+        } else if (!property.nullable()) {
+            value = property.readValue(columnIndex);
+        } else if (useCursorReads(property, cursorReads)) {
+            value = CodeBlock.of("$T.$L(cursor, $L)",
+                    CURSOR_READS, property.nullableReadMethod(), columnIndex);
+        } else {
+            String columnIndexVar = columnIndexVar(property);
+            readRowMethod.addStatement("int $L = $L", columnIndexVar, columnIndex);
+            value = CodeBlock.of("($L) ? null : $L",
+                    isNullOrMissing(columnIndexVar), property.readValue(columnIndexVar));
+        }
+        if (lenient && property.decodeCanFail()) {
+            String exceptionName = "e";
+            for (ColumnProperty column : columns) {
+                if (column.humanName().equals(exceptionName)) {
+                    exceptionName = "exception";
+                }
+            }
+            readRowMethod
+                    .addStatement("$T $N", property.type(), property.humanName())
+                    .beginControlFlow("try")
+                    .addStatement("$N = $L", property.humanName(), value)
+                    .nextControlFlow("catch ($T $N)", RuntimeException.class, exceptionName)
+                    .addStatement("$T.reportInvalidValue($T.class, $S, cursor.getPosition(), $N)",
+                            CURSOR_ERRORS, valueClass, property.columnName(), exceptionName)
+                    .addStatement(skipRow)
+                    .endControlFlow();
+        } else {
+            readRowMethod.addStatement("$T $N = $L", property.type(), property.humanName(), value);
+        }
+    }
+
+    // The columns of an embedded property are read inline and passed to the constructor of its
+    // AutoValue_ class. A nullable embedded property is null unless all of its non-null columns
+    // have a value. In lenient mode a row where only some of them have a value is skipped instead.
+    private void addEmbeddedIndexedRead(Context context, MethodSpec.Builder readRowMethod,
+            ColumnProperty property, List<ColumnProperty> columns) {
+        ImmutableList<ColumnProperty> embeddedProperties = property.embeddedProperties();
+        String[] names = new String[embeddedProperties.size()];
+        for (int i = 0; i < embeddedProperties.size(); i++) {
+            names[i] = embeddedProperties.get(i).humanName();
+        }
+        CodeBlock constructorCall = CodeBlock.of("new $T($L)", property.embeddedClass(),
+                CodeBlock.of(Joiner.on(", ").join(names)));
+        if (!property.nullable()) {
+            for (ColumnProperty embeddedProperty : embeddedProperties) {
+                addIndexedRead(context, readRowMethod, embeddedProperty, columns, "return null");
+            }
+            readRowMethod.addStatement("$T $N = $L", property.type(), property.humanName(), constructorCall);
+            return;
+        }
+        boolean lenient = Options.enabled(context, Options.LENIENT);
+        List<String> hasValue = new ArrayList<>();
+        List<String> hasRequiredValues = new ArrayList<>();
+        for (int i = 0; i < embeddedProperties.size(); i++) {
+            ColumnProperty embeddedProperty = embeddedProperties.get(i);
+            String hasColumnValue = CodeBlock.of("$1L != -1 && !cursor.isNull($1L)",
+                    CodeBlock.of("columnIndices[$L]", columns.size() + i)).toString();
+            hasValue.add(hasColumnValue);
+            if (!embeddedProperty.nullable() && embeddedProperty.defaultValue() == null) {
+                hasRequiredValues.add(hasColumnValue);
+            }
+        }
+        String condition = lenient || hasRequiredValues.isEmpty()
+                ? Joiner.on(" || ").join(hasValue)
+                : Joiner.on(" && ").join(hasRequiredValues);
+        readRowMethod
+                .addStatement("$T $N = null", property.type(), property.humanName())
+                .beginControlFlow("if ($L)", condition);
+        if (lenient) {
+            ClassName valueClass = ClassName.get(context.autoValueClass());
+            for (int i = 0; i < embeddedProperties.size(); i++) {
+                ColumnProperty embeddedProperty = embeddedProperties.get(i);
+                if (embeddedProperty.nullable() || embeddedProperty.defaultValue() != null) {
+                    continue;
+                }
+                readRowMethod
+                        .beginControlFlow("if ($1L == -1 || cursor.isNull($1L))",
+                                CodeBlock.of("columnIndices[$L]", columns.size() + i))
+                        .addStatement("$T.reportNullColumn($T.class, $S, cursor.getPosition())",
+                                CURSOR_ERRORS, valueClass, embeddedProperty.columnName())
+                        .addStatement("return null")
+                        .endControlFlow();
+            }
+        }
+        for (ColumnProperty embeddedProperty : embeddedProperties) {
+            addIndexedRead(context, readRowMethod, embeddedProperty, columns, "return null");
+        }
+        readRowMethod
+                .addStatement("$N = $L", property.humanName(), constructorCall)
+                .endControlFlow();
+    }
+
+    // Reads a row whose column names start with the given prefix, e.g. the aliased columns of a join
+    private MethodSpec createPrefixedReadMethod(Context context) {
+        ClassName finalClass = getFinalClassClassName(context);
+        MethodSpec.Builder method =
+                MethodSpec.methodBuilder(METHOD_NAME)
+                        .addModifiers(STATIC)
+                        .returns(finalClass)
+                        .addParameter(CURSOR, "cursor")
+                        .addParameter(String.class, "prefix");
+        if (Options.enabled(context, Options.LENIENT)) {
+            return method
+                    .addStatement("int[] columnIndices = $N(cursor, prefix)", COLUMN_INDICES_METHOD_NAME)
+                    .addStatement("return columnIndices != null ? $N(cursor, columnIndices) : null",
+                            READ_ROW_METHOD_NAME)
+                    .build();
+        }
+        return method
+                .addStatement("return $N(cursor, $N(cursor, prefix))",
+                        READ_ROW_METHOD_NAME, COLUMN_INDICES_METHOD_NAME)
                 .build();
     }
 
+    // With prefixed the method takes the prefix of the column names as a second parameter
+    private MethodSpec createColumnIndicesMethod(
+            Context context, String methodName, List<ColumnProperty> columns, boolean prefixed) {
+        boolean lenient = Options.enabled(context, Options.LENIENT);
+        MethodSpec.Builder method =
+                MethodSpec.methodBuilder(methodName)
+                        .addModifiers(PRIVATE, STATIC)
+                        .returns(ArrayTypeName.of(TypeName.INT))
+                        .addParameter(CURSOR, "cursor");
+        if (prefixed) {
+            method.addParameter(String.class, "prefix");
+        }
+        method.addStatement("int[] columnIndices = new int[$L]", columns.size());
+
+        if (Options.enabled(context, Options.COLUMN_SWITCH) && !prefixed) {
+            // A switch on the column name compiles to a lookup by hash code and an equals check, so
+            // a single pass over the column names resolves all indices. The switch only matches
+            // exact names, columns it didn't find fall back to getColumnIndex() which also matches
+            // case-insensitively (AbstractCursor) or strips "table." prefixes (SQLiteCursor).
+            // Iterating backwards resolves duplicated names to the first one like AbstractCursor,
+            // SQLiteCursor.getColumnIndex() would return the last one.
+            Map<String, List<Integer>> slots = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                String columnName = columns.get(i).columnName();
+                if (!slots.containsKey(columnName)) {
+                    slots.put(columnName, new ArrayList<Integer>());
+                }
+                slots.get(columnName).add(i);
+            }
+            method.addStatement("$T.fill(columnIndices, -1)", Arrays.class)
+                    .addStatement("String[] columnNames = cursor.getColumnNames()")
+                    .beginControlFlow("for (int i = columnNames.length - 1; i >= 0; i--)")
+                    .beginControlFlow("switch (columnNames[i])");
+            for (Map.Entry<String, List<Integer>> entry : slots.entrySet()) {
+                method.addCode("case $S:\n", entry.getKey()).addCode("$>");
+                for (int slot : entry.getValue()) {
+                    method.addStatement("columnIndices[$L] = i", slot);
+                }
+                method.addStatement("break").addCode("$<");
+            }
+            method.endControlFlow()
+                    .endControlFlow();
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnProperty property = columns.get(i);
+                method.beginControlFlow("if (columnIndices[$L] == -1)", i)
+                        .addStatement("columnIndices[$L] = cursor.$L($S)", i,
+                                requiresColumn(property) && !lenient ? "getColumnIndexOrThrow" : "getColumnIndex",
+                                property.columnName())
+                        .endControlFlow();
+            }
+        } else {
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnProperty property = columns.get(i);
+                method.addStatement("columnIndices[$L] = cursor.$L($L)", i,
+                        requiresColumn(property) && !lenient ? "getColumnIndexOrThrow" : "getColumnIndex",
+                        columnName(property, prefixed));
+            }
+        }
+
+        if (lenient) {
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnProperty property = columns.get(i);
+                if (requiresColumn(property)) {
+                    method.beginControlFlow("if (columnIndices[$L] == -1)", i)
+                            .addStatement("$T.reportMissingColumn($T.class, $L)", CURSOR_ERRORS,
+                                    ClassName.get(context.autoValueClass()), columnName(property, prefixed))
+                            .addStatement("return null")
+                            .endControlFlow();
+                }
+            }
+        }
+        return method.addStatement("return columnIndices").build();
+    }
+
+    // Trace sections cover a whole call, so a list is a single section instead of one per row
+    private void beginReadMethod(Context context, MethodSpec.Builder method, String methodName,
+            boolean trace, boolean metrics) {
+        if (trace) {
+            String sectionName = getFinalClassClassName(context).simpleName() + "." + methodName;
+            method.addStatement("$T.beginSection($S)", TRACE, sectionName)
+                    .beginControlFlow("try");
+        }
+        if (metrics) {
+            method.addStatement("long startNanos = $T.nanoTime()", System.class);
+        }
+    }
+
+    private void endReadMethod(MethodSpec.Builder method, boolean trace) {
+        if (trace) {
+            method.nextControlFlow("finally")
+                    .addStatement("$T.endSection()", TRACE)
+                    .endControlFlow();
+        }
+    }
+
+    private String newLocalName(ImmutableList<ColumnProperty> properties, String name) {
+        NameAllocator nameAllocator = new NameAllocator();
+        for (ColumnProperty property : properties) {
+            nameAllocator.newName(property.humanName());
+        }
+        return nameAllocator.newName(name);
+    }
+
+    private int estimateReadSize(ColumnProperty property, boolean cursorReads) {
+        if (property.columnAdapter() != null) {
+            return ADAPTER_PROPERTY_READ_SIZE;
+        } else if (!property.supportedType()) {
+            return 0;
+        } else if (property.embeddedProperties() != null) {
+            int size = 0;
+            for (ColumnProperty embeddedProperty : property.embeddedProperties()) {
+                size += estimateReadSize(embeddedProperty, cursorReads) + NULLABLE_PROPERTY_READ_SIZE;
+            }
+            return size;
+        } else if (!property.nullable() && property.defaultValue() == null) {
+            return PROPERTY_READ_SIZE;
+        } else if (useCursorReads(property, cursorReads) && property.defaultValue() == null) {
+            return CURSOR_READS_PROPERTY_READ_SIZE;
+        }
+        return NULLABLE_PROPERTY_READ_SIZE;
+    }
+
     private CodeBlock readProperty(ColumnProperty property) {
-        CodeBlock getValue = CodeBlock.of(checkNotNull(property.cursorMethod()), getColumnIndexOrThrow(property));
+        CodeBlock getValue = property.readValue(getColumnIndexOrThrow(property));
         return CodeBlock.builder()
                 .addStatement("$T $N = $L", property.type(), property.humanName(), getValue)
                 .build();
     }
 
-    private CodeBlock readNullableProperty(ColumnProperty property) {
-        String columnIndexVar = property.humanName() + "ColumnIndex";
-        String cursorMethod = checkNotNull(property.cursorMethod());
+    private CodeBlock readDefaultProperty(ColumnProperty property) {
+        String columnIndexVar = columnIndexVar(property);
+        return CodeBlock.builder()
+                .addStatement("int $L = $L", columnIndexVar, getColumnIndex(property))
+                .addStatement("$T $N = ($L) ? $L : $L", property.type(), property.humanName(),
+                        isNullOrMissing(columnIndexVar), property.defaultValue(),
+                        property.readValue(columnIndexVar))
+                .build();
+    }
+
+    private CodeBlock readNullableProperty(ColumnProperty property, boolean cursorReads) {
+        if (useCursorReads(property, cursorReads)) {
+            return CodeBlock.builder()
+                    .addStatement("$T $N = $L", property.type(), property.humanName(),
+                            readNullableWithCursorReads(property))
+                    .build();
+        }
+        String columnIndexVar = columnIndexVar(property);
         CodeBlock getValue =
                 CodeBlock.builder()
-                        .add("($L == -1 || cursor.isNull($L)) ? null : ", columnIndexVar, columnIndexVar)
-                        .add(cursorMethod, columnIndexVar)
+                        .add("($L) ? null : ", isNullOrMissing(columnIndexVar))
+                        .add(property.readValue(columnIndexVar))
                         .build();
         return CodeBlock.builder()
                 .addStatement("int $L = $L", columnIndexVar, getColumnIndex(property))
@@ -144,6 +972,121 @@ public class AutoValueCursorExtension extends AutoValueExtension {
                 .build();
     }
 
+    private boolean useCursorReads(ColumnProperty property, boolean cursorReads) {
+        return cursorReads && property.nullableReadMethod() != null;
+    }
+
+    private CodeBlock readNullableWithCursorReads(ColumnProperty property) {
+        return CodeBlock.of("$T.$L(cursor, $L)",
+                CURSOR_READS, property.nullableReadMethod(), getColumnIndex(property));
+    }
+
+    private MethodSpec createCopyToContentValuesMethod(
+            Context context, ImmutableList<ColumnProperty> properties) {
+        MethodSpec.Builder copyMethod =
+                MethodSpec.methodBuilder(COPY_ROW_METHOD_NAME)
+                        .addModifiers(STATIC)
+                        .addParameter(CURSOR, "cursor")
+                        .addParameter(CONTENT_VALUES, "values");
+
+        ImmutableMap<ClassName, String> columnAdapters = addColumnAdaptersToMethod(copyMethod, properties);
+
+        for (ColumnProperty property : ColumnProperty.flatten(properties)) {
+            if (property.columnAdapter() != null) {
+                copyMethod.addStatement(
+                        "$1L.toContentValues(values, $2S, $1L.fromCursor(cursor, $2S))",
+                        columnAdapters.get(property.columnAdapter()),
+                        property.columnName());
+            } else if (property.supportedType()) {
+                if (property.nullable() || property.defaultValue() != null) {
+                    String columnIndexVar = columnIndexVar(property);
+                    copyMethod
+                            .addStatement("int $L = $L", columnIndexVar, getColumnIndex(property))
+                            .beginControlFlow("if ($L)", isNullOrMissing(columnIndexVar));
+                    if (property.defaultValue() != null) {
+                        copyMethod.addStatement("values.put($S, $L)", property.columnName(),
+                                property.defaultValue());
+                    } else {
+                        copyMethod.addStatement("values.putNull($S)", property.columnName());
+                    }
+                    copyMethod
+                            .nextControlFlow("else")
+                            .addStatement("values.put($S, $L)", property.columnName(),
+                                    property.readStoredValue(columnIndexVar))
+                            .endControlFlow();
+                } else {
+                    copyMethod.addStatement("values.put($S, $L)", property.columnName(),
+                            property.readStoredValue(getColumnIndexOrThrow(property)));
+                }
+            } else {
+                error(context, property, "Property has type that can't be copied from Cursor.");
+            }
+        }
+        return copyMethod.build();
+    }
+
+    private MethodSpec createCopyToStatementMethod(
+            Context context, ImmutableList<ColumnProperty> properties) {
+        MethodSpec.Builder copyMethod =
+                MethodSpec.methodBuilder(COPY_ROW_METHOD_NAME)
+                        .addModifiers(STATIC)
+                        .addParameter(CURSOR, "cursor")
+                        .addParameter(SQLITE_STATEMENT, "statement");
+
+        ImmutableList<ColumnProperty> columns = ColumnProperty.flatten(properties);
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnProperty property = columns.get(i);
+            int bindIndex = i + 1;
+            if (property.columnAdapter() != null) {
+                error(context, property, "Property with a ColumnAdapter can't be bound to a SQLiteStatement.");
+            } else if (property.supportedType()) {
+                ColumnProperty.StorageClass storageClass = checkNotNull(property.storageClass());
+                if (property.nullable() || property.defaultValue() != null) {
+                    String columnIndexVar = columnIndexVar(property);
+                    copyMethod
+                            .addStatement("int $L = $L", columnIndexVar, getColumnIndex(property))
+                            .beginControlFlow("if ($L)", isNullOrMissing(columnIndexVar));
+                    if (property.defaultValue() != null) {
+                        copyMethod.addStatement("statement.$L($L, $L)", storageClass.bindMethod(),
+                                bindIndex, property.bindDefaultValue());
+                    } else {
+                        copyMethod.addStatement("statement.bindNull($L)", bindIndex);
+                    }
+                    copyMethod
+                            .nextControlFlow("else")
+                            .addStatement("statement.$L($L, cursor.$L($L))", storageClass.bindMethod(),
+                                    bindIndex, storageClass.cursorMethod(), columnIndexVar)
+                            .endControlFlow();
+                } else {
+                    copyMethod.addStatement("statement.$L($L, cursor.$L($L))", storageClass.bindMethod(),
+                            bindIndex, storageClass.cursorMethod(), getColumnIndexOrThrow(property));
+                }
+            } else {
+                error(context, property, "Property has type that can't be copied from Cursor.");
+            }
+        }
+        return copyMethod.build();
+    }
+
+    // Columns of properties with a @ColumnDefault may be missing, the default is used instead
+    private boolean requiresColumn(ColumnProperty property) {
+        return property.required() && property.defaultValue() == null;
+    }
+
+    private String columnIndexVar(ColumnProperty property) {
+        return property.humanName() + "ColumnIndex";
+    }
+
+    private CodeBlock isNullOrMissing(String columnIndexVar) {
+        return CodeBlock.of("$1L == -1 || cursor.isNull($1L)", columnIndexVar);
+    }
+
+    private CodeBlock columnName(ColumnProperty property, boolean prefixed) {
+        return prefixed
+                ? CodeBlock.of("prefix + $S", property.columnName())
+                : CodeBlock.of("$S", property.columnName());
+    }
+
     private CodeBlock getColumnIndexOrThrow(ColumnProperty property) {
         return CodeBlock.of("cursor.getColumnIndexOrThrow($S)", property.columnName());
     }
@@ -190,6 +1133,50 @@ public class AutoValueCursorExtension extends AutoValueExtension {
                 .build();
     }
 
+    // Delegates to the static methods, the anonymous class would otherwise call its own methods
+    // The helpers are private to the generated class, which isn't the final class when another
+    // extension runs after this one
+    private FieldSpec createRowReader(Context context, String className) {
+        ClassName generatedClass = ClassName.get(context.packageName(), className);
+        TypeName intArray = ArrayTypeName.of(TypeName.INT);
+        TypeName rowReaderName = getRowReaderTypeName(context);
+        TypeSpec rowReader =
+                TypeSpec.anonymousClassBuilder("")
+                        .addSuperinterface(rowReaderName)
+                        .addMethod(MethodSpec.methodBuilder(COLUMN_INDICES_METHOD_NAME)
+                                .addAnnotation(Override.class)
+                                .addModifiers(PUBLIC)
+                                .returns(intArray)
+                                .addParameter(CURSOR, "cursor")
+                                .addParameter(String.class, "prefix")
+                                .addStatement("return $T.$N(cursor, prefix)", generatedClass, COLUMN_INDICES_METHOD_NAME)
+                                .build())
+                        .addMethod(MethodSpec.methodBuilder(READ_ROW_METHOD_NAME)
+                                .addAnnotation(Override.class)
+                                .addModifiers(PUBLIC)
+                                .returns(getAutoValueClassTypeName(context))
+                                .addParameter(CURSOR, "cursor")
+                                .addParameter(intArray, "columnIndices")
+                                .addStatement("return $T.$N(cursor, columnIndices)", generatedClass, READ_ROW_METHOD_NAME)
+                                .build())
+                        .build();
+        return FieldSpec.builder(rowReaderName, ROW_READER_FIELD_NAME, STATIC, FINAL)
+                .initializer("$L", rowReader)
+                .build();
+    }
+
+    private TypeName getRowReaderTypeName(Context context) {
+        return ParameterizedTypeName.get(ROW_READER, getAutoValueClassTypeName(context));
+    }
+
+    private TypeName getListTypeName(Context context) {
+        return ParameterizedTypeName.get(LIST, getAutoValueClassTypeName(context));
+    }
+
+    private TypeName getFutureListTypeName(Context context) {
+        return ParameterizedTypeName.get(FUTURE, getListTypeName(context));
+    }
+
     private TypeName getFunc1TypeName(Context context) {
         return ParameterizedTypeName.get(FUNC1, CURSOR, getAutoValueClassTypeName(context));
     }
@@ -0,0 +1,249 @@
+package com.gabrielittner.auto.value.cursor;
+
+import com.gabrielittner.auto.value.Options;
+import com.google.auto.service.AutoService;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+
+import static com.gabrielittner.auto.value.util.ElementUtil.getMatchingAbstractMethod;
+import static com.gabrielittner.auto.value.util.ElementUtil.getMatchingStaticMethod;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.Diagnostic.Kind.WARNING;
+
+/**
+ * Generates a single registry class that maps value classes to their Cursor reader and
+ * ContentValues writer without reflection. Only runs when {@code -Aautovaluecursor.registry}
+ * is set to the fully qualified name of the class to generate and is an aggregating processor
+ * in that case.
+ */
+@AutoService(Processor.class)
+public class CursorMappersProcessor extends AbstractProcessor {
+
+    private static final String AUTO_VALUE = "com.google.auto.value.AutoValue";
+    private static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+    private static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
+
+    private static final ClassName CURSOR = ClassName.get("android.database", "Cursor");
+    private static final ClassName CONTENT_VALUES =
+            ClassName.get("android.content", "ContentValues");
+
+    private final List<Mapper> mappers = new ArrayList<>();
+    private boolean written;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return ImmutableSet.of(AUTO_VALUE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        boolean enabled = processingEnv != null && registryName() != null;
+        return ImmutableSet.of(Options.REGISTRY, enabled ? GRADLE_AGGREGATING : GRADLE_ISOLATING);
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        String registryName = registryName();
+        if (registryName == null) {
+            return false;
+        }
+        TypeElement autoValue = processingEnv.getElementUtils().getTypeElement(AUTO_VALUE);
+        Set<? extends Element> elements = autoValue != null
+                ? roundEnv.getElementsAnnotatedWith(autoValue)
+                : ImmutableSet.<Element>of();
+        ClassName registry = ClassName.bestGuess(registryName);
+        for (TypeElement element : ElementFilter.typesIn(elements)) {
+            if (written) {
+                processingEnv.getMessager().printMessage(ERROR,
+                        "Value class was created after " + registry + " was generated.", element);
+            } else {
+                addMapper(element, registry);
+            }
+        }
+        if (!written && (roundEnv.processingOver() || (elements.isEmpty() && !mappers.isEmpty()))) {
+            written = true;
+            writeRegistry(registry);
+        }
+        return false;
+    }
+
+    private void addMapper(TypeElement valueClass, ClassName registry) {
+        ClassName valueClassName = ClassName.get(valueClass);
+        Optional<ExecutableElement> reader = getMatchingStaticMethod(valueClass, valueClassName, CURSOR);
+        Optional<ExecutableElement> writer = getMatchingAbstractMethod(abstractMethods(valueClass), CONTENT_VALUES);
+        if (!reader.isPresent() && !writer.isPresent()) {
+            return;
+        }
+        String registryPackage = registry.packageName();
+        if (!isAccessible(valueClass, registryPackage)
+                || (reader.isPresent() && !isAccessible(reader.get(), registryPackage))
+                || (writer.isPresent() && !isAccessible(writer.get(), registryPackage))) {
+            processingEnv.getMessager().printMessage(WARNING,
+                    "Value class isn't accessible from " + registry + " and won't be registered.",
+                    valueClass);
+            return;
+        }
+        mappers.add(new Mapper(valueClassName,
+                reader.isPresent() ? reader.get().getSimpleName().toString() : null,
+                writer.isPresent() ? writer.get().getSimpleName().toString() : null));
+    }
+
+    private String registryName() {
+        String value = processingEnv.getOptions().get(Options.REGISTRY);
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private void writeRegistry(ClassName registry) {
+        CodeBlock.Builder indices = CodeBlock.builder();
+        CodeBlock.Builder readers = CodeBlock.builder();
+        CodeBlock.Builder writers = CodeBlock.builder();
+        for (int index = 0; index < mappers.size(); index++) {
+            Mapper mapper = mappers.get(index);
+            indices.addStatement("INDICES.put($T.class, $L)", mapper.valueClass, index);
+            if (mapper.reader != null) {
+                readers.addStatement("case $L: return (T) $T.$N(cursor)",
+                        index, mapper.valueClass, mapper.reader);
+            }
+            if (mapper.writer != null) {
+                writers.addStatement("case $L: return (($T) value).$N()",
+                        index, mapper.valueClass, mapper.writer);
+            }
+        }
+
+        TypeName classType = ParameterizedTypeName.get(ClassName.get(Class.class),
+                WildcardTypeName.subtypeOf(Object.class));
+        TypeName indicesType = ParameterizedTypeName.get(ClassName.get(IdentityHashMap.class),
+                classType, TypeName.INT.box());
+        TypeVariableName t = TypeVariableName.get("T");
+        TypeName classOfT = ParameterizedTypeName.get(ClassName.get(Class.class), t);
+
+        TypeSpec registrySpec = TypeSpec.classBuilder(registry)
+                .addModifiers(PUBLIC, FINAL)
+                .addField(FieldSpec.builder(indicesType, "INDICES", PRIVATE, STATIC, FINAL)
+                        .initializer("new $T($L)", indicesType, mappers.size())
+                        .build())
+                .addStaticBlock(indices.build())
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(PRIVATE).build())
+                .addMethod(MethodSpec.methodBuilder("createFromCursor")
+                        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                .addMember("value", "$S", "unchecked")
+                                .build())
+                        .addModifiers(PUBLIC, STATIC)
+                        .addTypeVariable(t)
+                        .returns(t)
+                        .addParameter(classOfT, "type")
+                        .addParameter(CURSOR, "cursor")
+                        .beginControlFlow("switch (indexOf(type))")
+                        .addCode(readers.build())
+                        .addStatement("default: throw new $T($S + type)",
+                                IllegalArgumentException.class, "No cursor reader for ")
+                        .endControlFlow()
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("toContentValues")
+                        .addModifiers(PUBLIC, STATIC)
+                        .addTypeVariable(t)
+                        .returns(CONTENT_VALUES)
+                        .addParameter(classOfT, "type")
+                        .addParameter(t, "value")
+                        .beginControlFlow("switch (indexOf(type))")
+                        .addCode(writers.build())
+                        .addStatement("default: throw new $T($S + type)",
+                                IllegalArgumentException.class, "No ContentValues writer for ")
+                        .endControlFlow()
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("indexOf")
+                        .addModifiers(PRIVATE, STATIC)
+                        .returns(TypeName.INT)
+                        .addParameter(classType, "type")
+                        .addStatement("$T index = INDICES.get(type)", TypeName.INT.box())
+                        .addStatement("return index != null ? index : -1")
+                        .build())
+                .build();
+
+        try {
+            JavaFile.builder(registry.packageName(), registrySpec)
+                    .build()
+                    .writeTo(processingEnv.getFiler());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(ERROR,
+                    "Failed to write " + registry + ": " + e.getMessage());
+        }
+    }
+
+    private Set<ExecutableElement> abstractMethods(TypeElement valueClass) {
+        List<ExecutableElement> methods = ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(valueClass));
+        Set<ExecutableElement> abstractMethods = new LinkedHashSet<>();
+        for (ExecutableElement method : methods) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT)) {
+                abstractMethods.add(method);
+            }
+        }
+        return abstractMethods;
+    }
+
+    private boolean isAccessible(Element element, String fromPackage) {
+        for (Element e = element; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(PUBLIC) && !packageOf(e).equals(fromPackage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    }
+
+    private static final class Mapper {
+        final ClassName valueClass;
+        final String reader;
+        final String writer;
+
+        Mapper(ClassName valueClass, String reader, String writer) {
+            this.valueClass = valueClass;
+            this.reader = reader;
+            this.writer = writer;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.gabrielittner.auto.value.cursorrow;
+
+import com.gabrielittner.auto.value.ColumnProperty;
+import com.google.auto.service.AutoService;
+import com.google.auto.value.extension.AutoValueExtension;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+
+import static com.gabrielittner.auto.value.cursor.AutoValueCursorExtension.addColumnAdaptersToMethod;
+import static com.gabrielittner.auto.value.util.AutoValueUtil.error;
+import static com.gabrielittner.auto.value.util.AutoValueUtil.newTypeSpecBuilder;
+import static com.gabrielittner.auto.value.util.ElementUtil.getMatchingAbstractMethod;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+@AutoService(AutoValueExtension.class)
+public class AutoValueCursorRowExtension extends AutoValueExtension {
+
+    private static final ClassName CONTENT_VALUES =
+            ClassName.get("android.content", "ContentValues");
+    private static final ClassName MATRIX_CURSOR =
+            ClassName.get("android.database", "MatrixCursor");
+    private static final ClassName ROW_BUILDER =
+            ClassName.get("android.database", "MatrixCursor", "RowBuilder");
+    private static final ArrayTypeName OBJECT_ARRAY = ArrayTypeName.of(TypeName.OBJECT);
+    private static final ArrayTypeName STRING_ARRAY = ArrayTypeName.of(String.class);
+
+    private static final String COLUMN_NAMES_FIELD_NAME = "COLUMN_NAMES";
+
+    @Override
+    public IncrementalExtensionType incrementalType(ProcessingEnvironment processingEnvironment) {
+        return IncrementalExtensionType.ISOLATING;
+    }
+
+    @Override
+    public boolean applicable(Context context) {
+        return getToCursorRowMethod(context).isPresent()
+                || getAddToMethod(context).isPresent()
+                || declaresColumnNames(context);
+    }
+
+    private boolean declaresColumnNames(Context context) {
+        for (VariableElement field : ElementFilter.fieldsIn(context.autoValueClass().getEnclosedElements())) {
+            if (field.getModifiers().contains(STATIC)
+                    && field.getSimpleName().contentEquals(COLUMN_NAMES_FIELD_NAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<ExecutableElement> consumeMethods(Context context) {
+        ImmutableSet.Builder<ExecutableElement> methods = ImmutableSet.builder();
+        Optional<ExecutableElement> toCursorRow = getToCursorRowMethod(context);
+        if (toCursorRow.isPresent()) {
+            methods.add(toCursorRow.get());
+        }
+        Optional<ExecutableElement> addTo = getAddToMethod(context);
+        if (addTo.isPresent()) {
+            methods.add(addTo.get());
+        }
+        return methods.build();
+    }
+
+    @Override
+    public String generateClass(
+            Context context, String className, String classToExtend, boolean isFinal) {
+        ImmutableList<ColumnProperty> properties = ColumnProperty.from(context);
+        // rows are written in the same order and with the same length as COLUMN_NAMES
+        ImmutableList<ColumnProperty> columns = ColumnProperty.flatten(properties);
+
+        TypeSpec.Builder subclass =
+                newTypeSpecBuilder(context, className, classToExtend, isFinal)
+                        .addField(createColumnNamesField(columns));
+
+        Optional<ExecutableElement> toCursorRow = getToCursorRowMethod(context);
+        Optional<ExecutableElement> addTo = getAddToMethod(context);
+        if (toCursorRow.isPresent() || addTo.isPresent()) {
+            for (ColumnProperty property : properties) {
+                if (property.embeddedProperties() != null) {
+                    error(context, property, "Embedded property can't be added to a cursor row.");
+                }
+            }
+        }
+        if (toCursorRow.isPresent()) {
+            subclass.addMethod(createToCursorRowMethod(context, toCursorRow.get(), columns));
+        }
+        if (addTo.isPresent()) {
+            subclass.addMethod(createAddToMethod(context, addTo.get(), columns));
+        }
+
+        return JavaFile.builder(context.packageName(), subclass.build()).build().toString();
+    }
+
+    private FieldSpec createColumnNamesField(ImmutableList<ColumnProperty> columns) {
+        CodeBlock.Builder names = CodeBlock.builder().add("{");
+        for (int i = 0; i < columns.size(); i++) {
+            names.add(i == 0 ? "$S" : ", $S", columns.get(i).columnName());
+        }
+        return FieldSpec.builder(STRING_ARRAY, COLUMN_NAMES_FIELD_NAME, STATIC, FINAL)
+                .initializer(names.add("}").build())
+                .build();
+    }
+
+    private MethodSpec createToCursorRowMethod(
+            Context context,
+            ExecutableElement methodToImplement,
+            ImmutableList<ColumnProperty> columns) {
+        MethodSpec.Builder rowMethod =
+                MethodSpec.methodBuilder(methodToImplement.getSimpleName().toString())
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .returns(OBJECT_ARRAY)
+                        .addParameter(OBJECT_ARRAY, "reuse")
+                        .addStatement("$T row = reuse != null && reuse.length == $L ? reuse : new $T[$L]",
+                                OBJECT_ARRAY, columns.size(), TypeName.OBJECT, columns.size());
+
+        ImmutableMap<ClassName, String> columnAdapters = addAdapters(rowMethod, columns);
+
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnProperty property = columns.get(i);
+            CodeBlock value = rowValue(context, rowMethod, property, columnAdapters);
+            if (value != null) {
+                rowMethod.addStatement("row[$L] = $L", i, value);
+            }
+        }
+        return rowMethod.addStatement("return row").build();
+    }
+
+    private MethodSpec createAddToMethod(
+            Context context,
+            ExecutableElement methodToImplement,
+            ImmutableList<ColumnProperty> columns) {
+        MethodSpec.Builder addToMethod =
+                MethodSpec.methodBuilder(methodToImplement.getSimpleName().toString())
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .addParameter(MATRIX_CURSOR, "cursor");
+
+        ImmutableMap<ClassName, String> columnAdapters = addAdapters(addToMethod, columns);
+
+        addToMethod.addStatement("$T row = cursor.newRow()", ROW_BUILDER);
+        for (ColumnProperty property : columns) {
+            CodeBlock value = rowValue(context, addToMethod, property, columnAdapters);
+            if (value != null) {
+                addToMethod.addStatement("row.add($L)", value);
+            }
+        }
+        return addToMethod.build();
+    }
+
+    private ImmutableMap<ClassName, String> addAdapters(
+            MethodSpec.Builder method, ImmutableList<ColumnProperty> columns) {
+        ImmutableMap<ClassName, String> columnAdapters = addColumnAdaptersToMethod(method, columns);
+        if (!columnAdapters.isEmpty()) {
+            method.addStatement("$1T values = new $1T()", CONTENT_VALUES);
+        }
+        return columnAdapters;
+    }
+
+    private CodeBlock rowValue(
+            Context context,
+            MethodSpec.Builder method,
+            ColumnProperty property,
+            ImmutableMap<ClassName, String> columnAdapters) {
+        if (property.columnAdapter() != null) {
+            // the adapter can only contribute the value it puts for the property's own column,
+            // clearing first keeps anything written for an earlier property from being returned
+            method.addStatement("values.clear()");
+            method.addStatement(
+                    "$L.toContentValues(values, $S, $L())",
+                    columnAdapters.get(property.columnAdapter()),
+                    property.columnName(),
+                    property.methodName());
+            return CodeBlock.of("values.get($S)", property.columnName());
+        }
+        if (!property.supportedType()) {
+            error(context, property, "Property has type that can't be added to a cursor row.");
+            return null;
+        }
+        // MatrixCursor can't read Boolean values with getInt(), store them like SQLite does
+        if (property.type().equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("$L() ? 1 : 0", property.methodName());
+        }
+        if (property.type().equals(TypeName.BOOLEAN.box())) {
+            return CodeBlock.of("$1L() == null ? null : ($1L() ? 1 : 0)", property.methodName());
+        }
+        return property.writeValue();
+    }
+
+    private Optional<ExecutableElement> getToCursorRowMethod(Context context) {
+        return getMatchingAbstractMethod(context.abstractMethods(), OBJECT_ARRAY, OBJECT_ARRAY);
+    }
+
+    private Optional<ExecutableElement> getAddToMethod(Context context) {
+        return getMatchingAbstractMethod(context.abstractMethods(), TypeName.VOID, MATRIX_CURSOR);
+    }
+}
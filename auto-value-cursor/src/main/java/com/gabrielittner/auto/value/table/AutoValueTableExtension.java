@@ -0,0 +1,150 @@
+package com.gabrielittner.auto.value.table;
+
+import com.gabrielittner.auto.value.ColumnProperty;
+import com.gabrielittner.auto.value.cursor.Indexed;
+import com.gabrielittner.auto.value.cursor.PrimaryKey;
+import com.gabrielittner.auto.value.cursor.TableName;
+import com.google.auto.service.AutoService;
+import com.google.auto.value.extension.AutoValueExtension;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+
+import static com.gabrielittner.auto.value.util.AutoValueUtil.error;
+import static com.gabrielittner.auto.value.util.AutoValueUtil.newTypeSpecBuilder;
+import static com.gabrielittner.auto.value.util.ElementUtil.getAnnotationValue;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates the {@code CREATE TABLE} statement of a class annotated with {@code @TableName} from
+ * the storage classes of its properties, so that the column affinities match the generated reads.
+ * Applied when the class declares a static {@code CREATE_TABLE} field.
+ */
+@AutoService(AutoValueExtension.class)
+public class AutoValueTableExtension extends AutoValueExtension {
+
+    private static final String CREATE_TABLE_FIELD_NAME = "CREATE_TABLE";
+    private static final String CREATE_INDICES_FIELD_NAME = "CREATE_INDICES";
+
+    @Override
+    public IncrementalExtensionType incrementalType(ProcessingEnvironment processingEnvironment) {
+        return IncrementalExtensionType.ISOLATING;
+    }
+
+    @Override
+    public boolean applicable(Context context) {
+        TypeElement valueClass = context.autoValueClass();
+        if (getAnnotationValue(valueClass, TableName.class, "value") == null) {
+            return false;
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(valueClass.getEnclosedElements())) {
+            if (field.getModifiers().contains(STATIC)
+                    && field.getSimpleName().contentEquals(CREATE_TABLE_FIELD_NAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String generateClass(
+            Context context, String className, String classToExtend, boolean isFinal) {
+        String tableName =
+                (String) getAnnotationValue(context.autoValueClass(), TableName.class, "value");
+        ImmutableList<ColumnProperty> properties = ColumnProperty.from(context);
+        ImmutableList<ColumnProperty> columns = ColumnProperty.flatten(properties);
+
+        List<ColumnProperty> primaryKey = new ArrayList<>();
+        for (ColumnProperty column : columns) {
+            if (autoIncrement(column) != null) {
+                primaryKey.add(column);
+            }
+        }
+
+        List<String> definitions = new ArrayList<>();
+        List<String> indices = new ArrayList<>();
+        for (ColumnProperty property : properties) {
+            if (property.columnAdapter() != null) {
+                error(context, property,
+                        "Property with a ColumnAdapter has no column type for CREATE TABLE.");
+            } else if (!property.supportedType()) {
+                error(context, property, "Property has type that can't be stored in a column.");
+            }
+        }
+        for (ColumnProperty column : columns) {
+            if (column.columnAdapter() != null || column.storageClass() == null) {
+                continue;
+            }
+            StringBuilder definition = new StringBuilder()
+                    .append(column.quotedColumnName())
+                    .append(' ')
+                    .append(column.storageClass().name());
+            if (column.required()) {
+                definition.append(" NOT NULL");
+            }
+            if (column.sqlDefaultValue() != null) {
+                definition.append(" DEFAULT ").append(column.sqlDefaultValue());
+            }
+            if (primaryKey.size() == 1 && primaryKey.get(0) == column) {
+                definition.append(" PRIMARY KEY");
+                if (Boolean.TRUE.equals(autoIncrement(column))) {
+                    if (column.storageClass() != ColumnProperty.StorageClass.INTEGER) {
+                        error(context, column, "Only INTEGER primary keys can use AUTOINCREMENT.");
+                    }
+                    definition.append(" AUTOINCREMENT");
+                }
+            }
+            definitions.add(definition.toString());
+
+            Object unique = getAnnotationValue(column.element(), Indexed.class, "unique");
+            if (unique != null) {
+                indices.add("CREATE " + (Boolean.TRUE.equals(unique) ? "UNIQUE " : "") + "INDEX "
+                        + ColumnProperty.quote(tableName + "_" + column.columnName())
+                        + " ON " + ColumnProperty.quote(tableName)
+                        + " (" + column.quotedColumnName() + ")");
+            }
+        }
+        if (primaryKey.size() > 1) {
+            List<String> keyColumns = new ArrayList<>();
+            for (ColumnProperty column : primaryKey) {
+                if (Boolean.TRUE.equals(autoIncrement(column))) {
+                    error(context, column, "A composite primary key can't use AUTOINCREMENT.");
+                }
+                keyColumns.add(column.quotedColumnName());
+            }
+            definitions.add("PRIMARY KEY (" + Joiner.on(", ").join(keyColumns) + ")");
+        }
+
+        TypeSpec.Builder subclass = newTypeSpecBuilder(context, className, classToExtend, isFinal)
+                .addField(FieldSpec.builder(String.class, CREATE_TABLE_FIELD_NAME, STATIC, FINAL)
+                        .initializer("$S", "CREATE TABLE " + ColumnProperty.quote(tableName)
+                                + " (" + Joiner.on(", ").join(definitions) + ")")
+                        .build());
+        // Always generated so that CREATE_INDICES can be declared before any column is indexed
+        CodeBlock.Builder initializer = CodeBlock.builder().add("{");
+        for (int i = 0; i < indices.size(); i++) {
+            initializer.add(i == 0 ? "$S" : ", $S", indices.get(i));
+        }
+        subclass.addField(FieldSpec.builder(ArrayTypeName.of(String.class),
+                        CREATE_INDICES_FIELD_NAME, STATIC, FINAL)
+                .initializer(initializer.add("}").build())
+                .build());
+        return JavaFile.builder(context.packageName(), subclass.build()).build().toString();
+    }
+
+    /** Returns null if the column isn't part of the primary key. */
+    private static Boolean autoIncrement(ColumnProperty column) {
+        return (Boolean) getAnnotationValue(column.element(), PrimaryKey.class, "autoIncrement");
+    }
+}
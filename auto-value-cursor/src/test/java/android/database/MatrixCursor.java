@@ -0,0 +1,21 @@
+package android.database;
+
+public class MatrixCursor {
+
+    public MatrixCursor(String[] columnNames) {
+    }
+
+    public RowBuilder newRow() {
+        return new RowBuilder();
+    }
+
+    public void addRow(Object[] columnValues) {
+    }
+
+    public class RowBuilder {
+
+        public RowBuilder add(Object columnValue) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package android.database.sqlite;
+
+public final class SQLiteDatabase {
+
+    public SQLiteStatement compileStatement(String sql) {
+        return new SQLiteStatement();
+    }
+
+    public void beginTransaction() {
+    }
+
+    public void setTransactionSuccessful() {
+    }
+
+    public void endTransaction() {
+    }
+}
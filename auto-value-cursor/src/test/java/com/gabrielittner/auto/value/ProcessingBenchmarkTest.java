@@ -0,0 +1,77 @@
+package com.gabrielittner.auto.value;
+
+import com.google.auto.value.processor.AutoValueProcessor;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.Compiler;
+import com.google.testing.compile.JavaFileObjects;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures how fast the extensions process a number of synthetic value classes. Skipped unless
+ * run with {@code -PbenchmarkClasses=<count>}.
+ */
+public class ProcessingBenchmarkTest {
+
+    private static final int CLASSES = Integer.getInteger("autovaluecursor.benchmark.classes", 0);
+    private static final int ITERATIONS = 5;
+
+    @Test
+    public void processSyntheticClasses() {
+        assumeTrue(CLASSES > 0);
+
+        List<JavaFileObject> sources = new ArrayList<>(CLASSES);
+        for (int i = 0; i < CLASSES; i++) {
+            sources.add(syntheticClass("Test" + i));
+        }
+
+        // first compilation warms up javac and the processors
+        compile(sources);
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            compile(sources);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double millis = bestNanos / 1e6;
+        System.out.println(String.format("Processed %d classes in %.1f ms (%.0f classes/s)",
+                CLASSES, millis, CLASSES / (millis / 1000)));
+    }
+
+    private static void compile(List<JavaFileObject> sources) {
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new AutoValueProcessor())
+                .compile(sources);
+        assertThat(compilation).succeeded();
+    }
+
+    private static JavaFileObject syntheticClass(String name) {
+        return JavaFileObjects.forSourceString("test." + name, ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class " + name + " {\n"
+                + "  public static " + name + " create(Cursor cursor) {\n"
+                + "    return AutoValue_" + name + ".createFromCursor(cursor);\n"
+                + "  }\n"
+                + "  public abstract long id();\n"
+                + "  public abstract String name();\n"
+                + "  @Nullable @ColumnName(\"email_address\") public abstract String email();\n"
+                + "  public abstract int count();\n"
+                + "  @Nullable public abstract Long updated();\n"
+                + "  public abstract boolean active();\n"
+                + "  public abstract double score();\n"
+                + "  @Nullable public abstract byte[] data();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+    }
+}
@@ -97,7 +97,7 @@ public class AutoValueContentValuesExtensionTest {
                 + "import android.content.ContentValues;\n"
                 + "import javax.annotation.Nullable;\n"
                 + "@AutoValue public abstract class Test {\n"
-                + "  @Nullable public abstract int[] a();\n"
+                + "  @Nullable public abstract char[] a();\n"
                 + "  public abstract String b();\n"
                 + "  public abstract ContentValues toContentValues();\n"
                 + "}\n");
@@ -332,4 +332,539 @@ public class AutoValueContentValuesExtensionTest {
                 .and()
                 .generatesSources(expected);
     }
+
+    @Test
+    public void queryCacheInvalidatedByToContentValues() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.TableName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.content.ContentValues;\n"
+                + "@AutoValue @TableName(\"test\") public abstract class Test {\n"
+                + "  public abstract int a();\n"
+                + "  public abstract String b();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import com.gabrielittner.auto.value.cursor.QueryCache;\n"
+                + "import java.lang.Override;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, String b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public ContentValues toContentValues() {\n"
+                + "    ContentValues values = new ContentValues(2);\n"
+                + "    values.put(\"a\", a());\n"
+                + "    values.put(\"b\", b());\n"
+                + "    QueryCache.notifyTableChanged(\"test\");\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .withCompilerOptions("-Aautovaluecursor.queryCache=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void metrics() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.content.ContentValues;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public abstract int a();\n"
+                + "  public abstract String b();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import com.gabrielittner.auto.value.cursor.CursorMetrics;\n"
+                + "import java.lang.Override;\n"
+                + "import java.lang.String;\n"
+                + "import java.lang.System;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, String b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public ContentValues toContentValues() {\n"
+                + "    long startNanos = System.nanoTime();\n"
+                + "    ContentValues values = new ContentValues(2);\n"
+                + "    values.put(\"a\", a());\n"
+                + "    values.put(\"b\", b());\n"
+                + "    CursorMetrics.reportWrite(Test.class, 1, 2, System.nanoTime() - startNanos);\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .withCompilerOptions("-Aautovaluecursor.metrics=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void enums() {
+        JavaFileObject color = JavaFileObjects.forSourceString("test.Color", ""
+                + "package test;\n"
+                + "public enum Color { RED, GREEN }\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnStorage;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.content.ContentValues;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public abstract Color a();\n"
+                + "  @Nullable public abstract Color b();\n"
+                + "  @ColumnStorage(ColumnStorage.StorageClass.INTEGER) public abstract Color c();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import java.lang.Override;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(Color a, Color b, Color c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public ContentValues toContentValues() {\n"
+                + "    ContentValues values = new ContentValues(3);\n"
+                + "    values.put(\"a\", a().name());\n"
+                + "    values.put(\"b\", b() != null ? b().name() : null);\n"
+                + "    values.put(\"c\", c().ordinal());\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(color, source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void dates() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.content.ContentValues;\n"
+                + "import java.time.Instant;\n"
+                + "import java.time.LocalDate;\n"
+                + "import java.util.Date;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public abstract Date a();\n"
+                + "  @Nullable public abstract Instant b();\n"
+                + "  public abstract LocalDate c();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import java.lang.Override;\n"
+                + "import java.time.Instant;\n"
+                + "import java.time.LocalDate;\n"
+                + "import java.util.Date;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(Date a, Instant b, LocalDate c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public ContentValues toContentValues() {\n"
+                + "    ContentValues values = new ContentValues(3);\n"
+                + "    values.put(\"a\", a().getTime());\n"
+                + "    values.put(\"b\", b() != null ? b().toEpochMilli() : null);\n"
+                + "    values.put(\"c\", c().toEpochDay());\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void uuids() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnStorage;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.content.ContentValues;\n"
+                + "import java.util.UUID;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  @Nullable public abstract UUID a();\n"
+                + "  @ColumnStorage(ColumnStorage.StorageClass.TEXT) public abstract UUID b();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import com.gabrielittner.auto.value.cursor.BlobCodecs;\n"
+                + "import java.lang.Override;\n"
+                + "import java.util.UUID;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(UUID a, UUID b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public ContentValues toContentValues() {\n"
+                + "    ContentValues values = new ContentValues(2);\n"
+                + "    values.put(\"a\", a() != null ? BlobCodecs.encodeUuid(a()) : null);\n"
+                + "    values.put(\"b\", b().toString());\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void packedBlobs() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.content.ContentValues;\n"
+                + "import java.util.List;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  @SuppressWarnings(\"mutable\") public abstract int[] a();\n"
+                + "  public abstract List<Long> b();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import com.gabrielittner.auto.value.cursor.BlobCodecs;\n"
+                + "import java.lang.Long;\n"
+                + "import java.lang.Override;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int[] a, List<Long> b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public ContentValues toContentValues() {\n"
+                + "    ContentValues values = new ContentValues(2);\n"
+                + "    values.put(\"a\", BlobCodecs.encodeIntArray(a()));\n"
+                + "    values.put(\"b\", BlobCodecs.encodeLongList(b()));\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void lazyValues() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.LazyValue;\n"
+                + "import android.content.ContentValues;\n"
+                + "import java.util.UUID;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  @Nullable public abstract LazyValue<UUID> a();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import com.gabrielittner.auto.value.cursor.BlobCodecs;\n"
+                + "import com.gabrielittner.auto.value.cursor.LazyValue;\n"
+                + "import java.lang.Override;\n"
+                + "import java.util.UUID;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(LazyValue<UUID> a) {\n"
+                + "    super(a);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public ContentValues toContentValues() {\n"
+                + "    ContentValues values = new ContentValues(1);\n"
+                + "    values.put(\"a\", a() != null ? BlobCodecs.encodeUuid(a()) : null);\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void embedded() {
+        JavaFileObject avatar = JavaFileObjects.forSourceString("test.Avatar", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Avatar {\n"
+                + "  @ColumnName(\"small_url\") public abstract String smallUrl();\n"
+                + "  @Nullable @ColumnName(\"large_url\") public abstract String largeUrl();\n"
+                + "}\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.Embedded;\n"
+                + "import android.content.ContentValues;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  @Embedded(prefix = \"avatar_\") public abstract Avatar avatar();\n"
+                + "  @Nullable @Embedded(prefix = \"banner_\") public abstract Avatar banner();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import java.lang.Override;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(Avatar avatar, Avatar banner) {\n"
+                + "    super(avatar, banner);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public ContentValues toContentValues() {\n"
+                + "    ContentValues values = new ContentValues(4);\n"
+                + "    values.put(\"avatar_small_url\", avatar().smallUrl());\n"
+                + "    values.put(\"avatar_large_url\", avatar().largeUrl());\n"
+                + "    if (banner() != null) {\n"
+                + "      values.put(\"banner_small_url\", banner().smallUrl());\n"
+                + "      values.put(\"banner_large_url\", banner().largeUrl());\n"
+                + "    } else {\n"
+                + "      values.putNull(\"banner_small_url\");\n"
+                + "      values.putNull(\"banner_large_url\");\n"
+                + "    }\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(avatar, source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void insertAll() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.TableName;\n"
+                + "import android.database.sqlite.SQLiteDatabase;\n"
+                + "import java.util.List;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue @TableName(\"test\") public abstract class Test {\n"
+                + "  public static void insert(SQLiteDatabase db, List<Test> values) {}\n"
+                + "  public abstract long id();\n"
+                + "  @Nullable public abstract String name();\n"
+                + "  public abstract boolean active();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.sqlite.SQLiteDatabase;\n"
+                + "import android.database.sqlite.SQLiteStatement;\n"
+                + "import java.lang.Math;\n"
+                + "import java.lang.String;\n"
+                + "import java.lang.StringBuilder;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  private static final int MAX_INSERT_ROWS = 333;\n"
+                + "  AutoValue_Test(long id, String name, boolean active) {\n"
+                + "    super(id, name, active);\n"
+                + "  }\n"
+                + "  static void insertAll(SQLiteDatabase db, List<Test> values) {\n"
+                + "    SQLiteStatement statement = null;\n"
+                + "    int statementRows = 0;\n"
+                + "    db.beginTransaction();\n"
+                + "    try {\n"
+                + "      for (int start = 0; start < values.size(); start += MAX_INSERT_ROWS) {\n"
+                + "        int rows = Math.min(MAX_INSERT_ROWS, values.size() - start);\n"
+                + "        if (rows != statementRows) {\n"
+                + "          if (statement != null) {\n"
+                + "            statement.close();\n"
+                + "          }\n"
+                + "          statement = db.compileStatement(insertSql(rows));\n"
+                + "          statementRows = rows;\n"
+                + "        }\n"
+                + "        for (int row = 0; row < rows; row++) {\n"
+                + "          bindRow(statement, row * 3, values.get(start + row));\n"
+                + "        }\n"
+                + "        statement.execute();\n"
+                + "      }\n"
+                + "      db.setTransactionSuccessful();\n"
+                + "    } finally {\n"
+                + "      if (statement != null) {\n"
+                + "        statement.close();\n"
+                + "      }\n"
+                + "      db.endTransaction();\n"
+                + "    }\n"
+                + "  }\n"
+                + "  private static String insertSql(int rows) {\n"
+                + "    StringBuilder sql = new StringBuilder(\"INSERT INTO \\\"test\\\" (\\\"id\\\", \\\"name\\\", \\\"active\\\") VALUES \");\n"
+                + "    for (int i = 0; i < rows; i++) {\n"
+                + "      sql.append(i == 0 ? \"(?, ?, ?)\" : \", (?, ?, ?)\");\n"
+                + "    }\n"
+                + "    return sql.toString();\n"
+                + "  }\n"
+                + "  private static void bindRow(SQLiteStatement statement, int offset, Test value) {\n"
+                + "    statement.bindLong(offset + 1, value.id());\n"
+                + "    if (value.name() == null) {\n"
+                + "      statement.bindNull(offset + 2);\n"
+                + "    } else {\n"
+                + "      statement.bindString(offset + 2, value.name());\n"
+                + "    }\n"
+                + "    statement.bindLong(offset + 3, value.active() ? 1 : 0);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void insertAllNotifiesQueryCacheAndReportsMetrics() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.TableName;\n"
+                + "import android.database.sqlite.SQLiteDatabase;\n"
+                + "import java.util.List;\n"
+                + "@AutoValue @TableName(\"test\") public abstract class Test {\n"
+                + "  public static void insert(SQLiteDatabase db, List<Test> values) {}\n"
+                + "  public abstract long id();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.sqlite.SQLiteDatabase;\n"
+                + "import android.database.sqlite.SQLiteStatement;\n"
+                + "import com.gabrielittner.auto.value.cursor.CursorMetrics;\n"
+                + "import com.gabrielittner.auto.value.cursor.QueryCache;\n"
+                + "import java.lang.Math;\n"
+                + "import java.lang.String;\n"
+                + "import java.lang.StringBuilder;\n"
+                + "import java.lang.System;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  private static final int MAX_INSERT_ROWS = 500;\n"
+                + "  AutoValue_Test(long id) {\n"
+                + "    super(id);\n"
+                + "  }\n"
+                + "  static void insertAll(SQLiteDatabase db, List<Test> values) {\n"
+                + "    long startNanos = System.nanoTime();\n"
+                + "    SQLiteStatement statement = null;\n"
+                + "    int statementRows = 0;\n"
+                + "    db.beginTransaction();\n"
+                + "    try {\n"
+                + "      for (int start = 0; start < values.size(); start += MAX_INSERT_ROWS) {\n"
+                + "        int rows = Math.min(MAX_INSERT_ROWS, values.size() - start);\n"
+                + "        if (rows != statementRows) {\n"
+                + "          if (statement != null) {\n"
+                + "            statement.close();\n"
+                + "          }\n"
+                + "          statement = db.compileStatement(insertSql(rows));\n"
+                + "          statementRows = rows;\n"
+                + "        }\n"
+                + "        for (int row = 0; row < rows; row++) {\n"
+                + "          bindRow(statement, row * 1, values.get(start + row));\n"
+                + "        }\n"
+                + "        statement.execute();\n"
+                + "      }\n"
+                + "      db.setTransactionSuccessful();\n"
+                + "    } finally {\n"
+                + "      if (statement != null) {\n"
+                + "        statement.close();\n"
+                + "      }\n"
+                + "      db.endTransaction();\n"
+                + "    }\n"
+                + "    CursorMetrics.reportWrite(Test.class, values.size(), 1, System.nanoTime() - startNanos);\n"
+                + "    QueryCache.notifyTableChanged(\"test\");\n"
+                + "  }\n"
+                + "  private static String insertSql(int rows) {\n"
+                + "    StringBuilder sql = new StringBuilder(\"INSERT INTO \\\"test\\\" (\\\"id\\\") VALUES \");\n"
+                + "    for (int i = 0; i < rows; i++) {\n"
+                + "      sql.append(i == 0 ? \"(?)\" : \", (?)\");\n"
+                + "    }\n"
+                + "    return sql.toString();\n"
+                + "  }\n"
+                + "  private static void bindRow(SQLiteStatement statement, int offset, Test value) {\n"
+                + "    statement.bindLong(offset + 1, value.id());\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .withCompilerOptions("-Aautovaluecursor.queryCache=true", "-Aautovaluecursor.metrics=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void insertAllWithoutTableName() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.sqlite.SQLiteDatabase;\n"
+                + "import java.util.List;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static void insert(SQLiteDatabase db, List<Test> values) {}\n"
+                + "  public abstract long id();\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .failsToCompile()
+                .withErrorContaining("Inserting a list requires a @TableName.");
+    }
 }
@@ -120,6 +120,1404 @@ public class AutoValueCursorExtensionTest {
                 .generatesSources(expected);
     }
 
+    @Test
+    public void nullableWithCursorReads() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "  @Nullable public abstract String b();\n"
+                + "  @Nullable public abstract Long c();\n"
+                + "  @Nullable public abstract Boolean d();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.CursorReads;\n"
+                + "import java.lang.Boolean;\n"
+                + "import java.lang.Long;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, String b, Long c, Boolean d) {\n"
+                + "    super(a, b, c, d);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    int a = cursor.getInt(cursor.getColumnIndexOrThrow(\"a\"));\n"
+                + "    String b = CursorReads.getNullableString(cursor, cursor.getColumnIndex(\"b\"));\n"
+                + "    Long c = CursorReads.getNullableLong(cursor, cursor.getColumnIndex(\"c\"));\n"
+                + "    Boolean d = CursorReads.getNullableBoolean(cursor, cursor.getColumnIndex(\"d\"));\n"
+                + "    return new AutoValue_Test(a, b, c, d);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .withCompilerOptions("-Aautovaluecursor.cursorReads=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void metrics() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "  public abstract String value();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.CursorMetrics;\n"
+                + "import java.lang.String;\n"
+                + "import java.lang.System;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, String value) {\n"
+                + "    super(a, value);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    long startNanos = System.nanoTime();\n"
+                + "    int a = cursor.getInt(cursor.getColumnIndexOrThrow(\"a\"));\n"
+                + "    String value = cursor.getString(cursor.getColumnIndexOrThrow(\"value\"));\n"
+                + "    AutoValue_Test value_ = new AutoValue_Test(a, value);\n"
+                + "    CursorMetrics.reportRead(Test.class, 1, 2, System.nanoTime() - startNanos);\n"
+                + "    return value_;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .withCompilerOptions("-Aautovaluecursor.metrics=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void listFromCursor() {
+        JavaFileObject stringAdapter = JavaFileObjects.forSourceString("test.StringAdapter", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnTypeAdapter;\n"
+                + "public class StringAdapter implements ColumnTypeAdapter<String> {\n"
+                + "  public String fromCursor(Cursor cursor, String columnName) {\n"
+                + "    return cursor.getString(cursor.getColumnIndex(columnName));\n"
+                + "  }\n"
+                + "  public void toContentValues(ContentValues values, String columnName, String value) {\n"
+                + "  }\n"
+                + "}\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnAdapter;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.List;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static List<Test> blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "  @Nullable public abstract String b();\n"
+                + "  @ColumnAdapter(StringAdapter.class) public abstract String c();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.String;\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, String b, String c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  static List<Test> createListFromCursor(Cursor cursor) {\n"
+                + "    int[] columnIndices = columnIndices(cursor);\n"
+                + "    List<Test> values = new ArrayList<Test>(cursor.getCount());\n"
+                + "    cursor.moveToPosition(-1);\n"
+                + "    while (cursor.moveToNext()) {\n"
+                + "      values.add(readRow(cursor, columnIndices));\n"
+                + "    }\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[2];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(\"a\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndex(\"b\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    StringAdapter stringAdapter = new StringAdapter();\n"
+                + "    int a = cursor.getInt(columnIndices[0]);\n"
+                + "    int bColumnIndex = columnIndices[1];\n"
+                + "    String b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : cursor.getString(bColumnIndex);\n"
+                + "    String c = stringAdapter.fromCursor(cursor, \"c\");\n"
+                + "    return new AutoValue_Test(a, b, c);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(stringAdapter, source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void trace() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.List;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static List<Test> blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import android.os.Trace;\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a) {\n"
+                + "    super(a);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    Trace.beginSection(\"AutoValue_Test.createFromCursor\");\n"
+                + "    try {\n"
+                + "      return readRow(cursor, columnIndices(cursor));\n"
+                + "    } finally {\n"
+                + "      Trace.endSection();\n"
+                + "    }\n"
+                + "  }\n"
+                + "  static List<Test> createListFromCursor(Cursor cursor) {\n"
+                + "    Trace.beginSection(\"AutoValue_Test.createListFromCursor\");\n"
+                + "    try {\n"
+                + "      int[] columnIndices = columnIndices(cursor);\n"
+                + "      List<Test> values = new ArrayList<Test>(cursor.getCount());\n"
+                + "      cursor.moveToPosition(-1);\n"
+                + "      while (cursor.moveToNext()) {\n"
+                + "        values.add(readRow(cursor, columnIndices));\n"
+                + "      }\n"
+                + "      return values;\n"
+                + "    } finally {\n"
+                + "      Trace.endSection();\n"
+                + "    }\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[1];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(\"a\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    int a = cursor.getInt(columnIndices[0]);\n"
+                + "    return new AutoValue_Test(a);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .withCompilerOptions("-Aautovaluecursor.trace=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void lenient() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.List;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static List<Test> blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "  public abstract String b();\n"
+                + "  @Nullable public abstract Long c();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.CursorErrors;\n"
+                + "import com.gabrielittner.auto.value.cursor.CursorReads;\n"
+                + "import java.lang.Long;\n"
+                + "import java.lang.String;\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, String b, Long c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    int[] columnIndices = columnIndices(cursor);\n"
+                + "    AutoValue_Test value = columnIndices != null ? readRow(cursor, columnIndices) : null;\n"
+                + "    return value;\n"
+                + "  }\n"
+                + "  static List<Test> createListFromCursor(Cursor cursor) {\n"
+                + "    int[] columnIndices = columnIndices(cursor);\n"
+                + "    List<Test> values = new ArrayList<Test>(cursor.getCount());\n"
+                + "    if (columnIndices != null) {\n"
+                + "      cursor.moveToPosition(-1);\n"
+                + "      while (cursor.moveToNext()) {\n"
+                + "        AutoValue_Test value = readRow(cursor, columnIndices);\n"
+                + "        if (value != null) {\n"
+                + "          values.add(value);\n"
+                + "        }\n"
+                + "      }\n"
+                + "    }\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[3];\n"
+                + "    columnIndices[0] = cursor.getColumnIndex(\"a\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndex(\"b\");\n"
+                + "    columnIndices[2] = cursor.getColumnIndex(\"c\");\n"
+                + "    if (columnIndices[0] == -1) {\n"
+                + "      CursorErrors.reportMissingColumn(Test.class, \"a\");\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    if (columnIndices[1] == -1) {\n"
+                + "      CursorErrors.reportMissingColumn(Test.class, \"b\");\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    int a = cursor.getInt(columnIndices[0]);\n"
+                + "    if (cursor.isNull(columnIndices[1])) {\n"
+                + "      CursorErrors.reportNullColumn(Test.class, \"b\", cursor.getPosition());\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    String b = cursor.getString(columnIndices[1]);\n"
+                + "    Long c = CursorReads.getNullableLong(cursor, columnIndices[2]);\n"
+                + "    return new AutoValue_Test(a, b, c);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .withCompilerOptions("-Aautovaluecursor.lenient=true", "-Aautovaluecursor.cursorReads=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void layoutCache() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "  public abstract String b();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnLayoutCache;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  private static final ColumnLayoutCache COLUMN_LAYOUTS = new ColumnLayoutCache(4);\n"
+                + "  AutoValue_Test(int a, String b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    String[] columnNames = cursor.getColumnNames();\n"
+                + "    int[] columnIndices = COLUMN_LAYOUTS.get(columnNames);\n"
+                + "    if (columnIndices == null) {\n"
+                + "      columnIndices = resolveColumnIndices(cursor);\n"
+                + "      COLUMN_LAYOUTS.put(columnNames, columnIndices);\n"
+                + "    }\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static int[] resolveColumnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[2];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(\"a\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndexOrThrow(\"b\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    int a = cursor.getInt(columnIndices[0]);\n"
+                + "    String b = cursor.getString(columnIndices[1]);\n"
+                + "    return new AutoValue_Test(a, b);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .withCompilerOptions("-Aautovaluecursor.layoutCache=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void lenientInvalidValues() {
+        JavaFileObject color = JavaFileObjects.forSourceString("test.Color", ""
+                + "package test;\n"
+                + "public enum Color { RED, GREEN }\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnStorage;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract Color a();\n"
+                + "  @Nullable @ColumnStorage(ColumnStorage.StorageClass.INTEGER) public abstract Color b();\n"
+                + "  public abstract int[] c();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.BlobCodecs;\n"
+                + "import com.gabrielittner.auto.value.cursor.CursorErrors;\n"
+                + "import java.lang.IllegalArgumentException;\n"
+                + "import java.lang.RuntimeException;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  private static final Color[] COLOR_VALUES = Color.values();\n"
+                + "  AutoValue_Test(Color a, Color b, int[] c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    int[] columnIndices = columnIndices(cursor);\n"
+                + "    AutoValue_Test value = columnIndices != null ? readRow(cursor, columnIndices) : null;\n"
+                + "    return value;\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[3];\n"
+                + "    columnIndices[0] = cursor.getColumnIndex(\"a\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndex(\"b\");\n"
+                + "    columnIndices[2] = cursor.getColumnIndex(\"c\");\n"
+                + "    if (columnIndices[0] == -1) {\n"
+                + "      CursorErrors.reportMissingColumn(Test.class, \"a\");\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    if (columnIndices[2] == -1) {\n"
+                + "      CursorErrors.reportMissingColumn(Test.class, \"c\");\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    if (cursor.isNull(columnIndices[0])) {\n"
+                + "      CursorErrors.reportNullColumn(Test.class, \"a\", cursor.getPosition());\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    Color a;\n"
+                + "    try {\n"
+                + "      a = decodeColor(cursor.getString(columnIndices[0]));\n"
+                + "    } catch (RuntimeException e) {\n"
+                + "      CursorErrors.reportInvalidValue(Test.class, \"a\", cursor.getPosition(), e);\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    int bColumnIndex = columnIndices[1];\n"
+                + "    Color b;\n"
+                + "    try {\n"
+                + "      b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : COLOR_VALUES[cursor.getInt(bColumnIndex)];\n"
+                + "    } catch (RuntimeException e) {\n"
+                + "      CursorErrors.reportInvalidValue(Test.class, \"b\", cursor.getPosition(), e);\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    if (cursor.isNull(columnIndices[2])) {\n"
+                + "      CursorErrors.reportNullColumn(Test.class, \"c\", cursor.getPosition());\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    int[] c;\n"
+                + "    try {\n"
+                + "      c = BlobCodecs.decodeIntArray(cursor.getBlob(columnIndices[2]));\n"
+                + "    } catch (RuntimeException e) {\n"
+                + "      CursorErrors.reportInvalidValue(Test.class, \"c\", cursor.getPosition(), e);\n"
+                + "      return null;\n"
+                + "    }\n"
+                + "    return new AutoValue_Test(a, b, c);\n"
+                + "  }\n"
+                + "  private static Color decodeColor(String name) {\n"
+                + "    switch (name) {\n"
+                + "      case \"RED\": return Color.RED;\n"
+                + "      case \"GREEN\": return Color.GREEN;\n"
+                + "      default: throw new IllegalArgumentException(\"No enum constant test.Color.\" + name);\n"
+                + "    }\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(color, source))
+                .withCompilerOptions("-Aautovaluecursor.lenient=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void columnSwitch() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "  @Nullable public abstract String b();\n"
+                + "  @ColumnName(\"a\") public abstract long c();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.String;\n"
+                + "import java.util.Arrays;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, String b, long c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[3];\n"
+                + "    Arrays.fill(columnIndices, -1);\n"
+                + "    String[] columnNames = cursor.getColumnNames();\n"
+                + "    for (int i = columnNames.length - 1; i >= 0; i--) {\n"
+                + "      switch (columnNames[i]) {\n"
+                + "        case \"a\":\n"
+                + "          columnIndices[0] = i;\n"
+                + "          columnIndices[2] = i;\n"
+                + "          break;\n"
+                + "        case \"b\":\n"
+                + "          columnIndices[1] = i;\n"
+                + "          break;\n"
+                + "      }\n"
+                + "    }\n"
+                + "    if (columnIndices[0] == -1) {\n"
+                + "      columnIndices[0] = cursor.getColumnIndexOrThrow(\"a\");\n"
+                + "    }\n"
+                + "    if (columnIndices[1] == -1) {\n"
+                + "      columnIndices[1] = cursor.getColumnIndex(\"b\");\n"
+                + "    }\n"
+                + "    if (columnIndices[2] == -1) {\n"
+                + "      columnIndices[2] = cursor.getColumnIndexOrThrow(\"a\");\n"
+                + "    }\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    int a = cursor.getInt(columnIndices[0]);\n"
+                + "    int bColumnIndex = columnIndices[1];\n"
+                + "    String b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : cursor.getString(bColumnIndex);\n"
+                + "    long c = cursor.getLong(columnIndices[2]);\n"
+                + "    return new AutoValue_Test(a, b, c);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .withCompilerOptions("-Aautovaluecursor.columnSwitch=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void enums() {
+        JavaFileObject color = JavaFileObjects.forSourceString("test.Color", ""
+                + "package test;\n"
+                + "public enum Color { RED, GREEN }\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnStorage;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract Color a();\n"
+                + "  @Nullable public abstract Color b();\n"
+                + "  @ColumnStorage(ColumnStorage.StorageClass.INTEGER) public abstract Color c();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.IllegalArgumentException;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  private static final Color[] COLOR_VALUES = Color.values();\n"
+                + "  AutoValue_Test(Color a, Color b, Color c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    Color a = decodeColor(cursor.getString(cursor.getColumnIndexOrThrow(\"a\")));\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");\n"
+                + "    Color b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : decodeColor(cursor.getString(bColumnIndex));\n"
+                + "    Color c = COLOR_VALUES[cursor.getInt(cursor.getColumnIndexOrThrow(\"c\"))];\n"
+                + "    return new AutoValue_Test(a, b, c);\n"
+                + "  }\n"
+                + "  private static Color decodeColor(String name) {\n"
+                + "    switch (name) {\n"
+                + "      case \"RED\": return Color.RED;\n"
+                + "      case \"GREEN\": return Color.GREEN;\n"
+                + "      default: throw new IllegalArgumentException(\"No enum constant test.Color.\" + name);\n"
+                + "    }\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(color, source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void dates() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.time.Instant;\n"
+                + "import java.time.LocalDate;\n"
+                + "import java.util.Date;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract Date a();\n"
+                + "  @Nullable public abstract Instant b();\n"
+                + "  public abstract LocalDate c();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.time.Instant;\n"
+                + "import java.time.LocalDate;\n"
+                + "import java.util.Date;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(Date a, Instant b, LocalDate c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    Date a = new Date(cursor.getLong(cursor.getColumnIndexOrThrow(\"a\")));\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");\n"
+                + "    Instant b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : Instant.ofEpochMilli(cursor.getLong(bColumnIndex));\n"
+                + "    LocalDate c = LocalDate.ofEpochDay(cursor.getLong(cursor.getColumnIndexOrThrow(\"c\")));\n"
+                + "    return new AutoValue_Test(a, b, c);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void uuids() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnStorage;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.UUID;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract UUID a();\n"
+                + "  @Nullable @ColumnStorage(ColumnStorage.StorageClass.TEXT) public abstract UUID b();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.BlobCodecs;\n"
+                + "import java.util.UUID;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(UUID a, UUID b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    UUID a = BlobCodecs.decodeUuid(cursor.getBlob(cursor.getColumnIndexOrThrow(\"a\")));\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");\n"
+                + "    UUID b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : UUID.fromString(cursor.getString(bColumnIndex));\n"
+                + "    return new AutoValue_Test(a, b);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void packedBlobs() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.List;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  @SuppressWarnings(\"mutable\") public abstract long[] a();\n"
+                + "  @Nullable public abstract List<String> b();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.BlobCodecs;\n"
+                + "import java.lang.String;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(long[] a, List<String> b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    long[] a = BlobCodecs.decodeLongArray(cursor.getBlob(cursor.getColumnIndexOrThrow(\"a\")));\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");\n"
+                + "    List<String> b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : BlobCodecs.decodeStringList(cursor.getBlob(bColumnIndex));\n"
+                + "    return new AutoValue_Test(a, b);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void lazyValues() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.LazyValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.List;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract LazyValue<long[]> a();\n"
+                + "  @Nullable public abstract LazyValue<List<String>> b();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.BlobCodecs;\n"
+                + "import com.gabrielittner.auto.value.cursor.LazyValue;\n"
+                + "import java.lang.Override;\n"
+                + "import java.lang.String;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(LazyValue<long[]> a, LazyValue<List<String>> b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    LazyValue<long[]> a = lazyLongArray(cursor.getBlob(cursor.getColumnIndexOrThrow(\"a\")));\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");\n"
+                + "    LazyValue<List<String>> b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : lazyStringList(cursor.getBlob(bColumnIndex));\n"
+                + "    return new AutoValue_Test(a, b);\n"
+                + "  }\n"
+                + "  private static LazyValue<long[]> lazyLongArray(byte[] blob) {\n"
+                + "    return new LazyValue<long[]>(blob) {\n"
+                + "      @Override\n"
+                + "      protected long[] decode(byte[] blob) {\n"
+                + "        return BlobCodecs.decodeLongArray(blob);\n"
+                + "      }\n"
+                + "    };\n"
+                + "  }\n"
+                + "  private static LazyValue<List<String>> lazyStringList(byte[] blob) {\n"
+                + "    return new LazyValue<List<String>>(blob) {\n"
+                + "      @Override\n"
+                + "      protected List<String> decode(byte[] blob) {\n"
+                + "        return BlobCodecs.decodeStringList(blob);\n"
+                + "      }\n"
+                + "    };\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void dedupe() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.Dedupe;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  @Dedupe public abstract String status();\n"
+                + "  @Nullable @Dedupe(size = 16) public abstract String mimeType();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.StringPool;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  private static final StringPool STATUS_POOL = new StringPool(64);\n"
+                + "  private static final StringPool MIME_TYPE_POOL = new StringPool(16);\n"
+                + "  AutoValue_Test(String status, String mimeType) {\n"
+                + "    super(status, mimeType);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    String status = STATUS_POOL.intern(cursor.getString(cursor.getColumnIndexOrThrow(\"status\")));\n"
+                + "    int mimeTypeColumnIndex = cursor.getColumnIndex(\"mimeType\");\n"
+                + "    String mimeType = (mimeTypeColumnIndex == -1 || cursor.isNull(mimeTypeColumnIndex)) ? null : MIME_TYPE_POOL.intern(cursor.getString(mimeTypeColumnIndex));\n"
+                + "    return new AutoValue_Test(status, mimeType);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void embedded() {
+        JavaFileObject avatar = JavaFileObjects.forSourceString("test.Avatar", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Avatar {\n"
+                + "  @ColumnName(\"small_url\") public abstract String smallUrl();\n"
+                + "  @Nullable @ColumnName(\"large_url\") public abstract String largeUrl();\n"
+                + "}\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.Embedded;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract String name();\n"
+                + "  @Embedded(prefix = \"avatar_\") public abstract Avatar avatar();\n"
+                + "  @Nullable @Embedded(prefix = \"banner_\") public abstract Avatar banner();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(String name, Avatar avatar, Avatar banner) {\n"
+                + "    super(name, avatar, banner);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[5];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(\"name\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndexOrThrow(\"avatar_small_url\");\n"
+                + "    columnIndices[2] = cursor.getColumnIndex(\"avatar_large_url\");\n"
+                + "    columnIndices[3] = cursor.getColumnIndex(\"banner_small_url\");\n"
+                + "    columnIndices[4] = cursor.getColumnIndex(\"banner_large_url\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    String name = cursor.getString(columnIndices[0]);\n"
+                + "    String avatarSmallUrl = cursor.getString(columnIndices[1]);\n"
+                + "    int avatarLargeUrlColumnIndex = columnIndices[2];\n"
+                + "    String avatarLargeUrl = (avatarLargeUrlColumnIndex == -1 || cursor.isNull(avatarLargeUrlColumnIndex)) ? null : cursor.getString(avatarLargeUrlColumnIndex);\n"
+                + "    Avatar avatar = new AutoValue_Avatar(avatarSmallUrl, avatarLargeUrl);\n"
+                + "    Avatar banner = null;\n"
+                + "    if (columnIndices[3] != -1 && !cursor.isNull(columnIndices[3])) {\n"
+                + "      String bannerSmallUrl = cursor.getString(columnIndices[3]);\n"
+                + "      int bannerLargeUrlColumnIndex = columnIndices[4];\n"
+                + "      String bannerLargeUrl = (bannerLargeUrlColumnIndex == -1 || cursor.isNull(bannerLargeUrlColumnIndex)) ? null : cursor.getString(bannerLargeUrlColumnIndex);\n"
+                + "      banner = new AutoValue_Avatar(bannerSmallUrl, bannerLargeUrl);\n"
+                + "    }\n"
+                + "    return new AutoValue_Test(name, avatar, banner);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(avatar, source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void embeddedWithInheritedPropertyAndContentValues() {
+        JavaFileObject named = JavaFileObjects.forSourceString("test.Named", ""
+                + "package test;\n"
+                + "public interface Named {\n"
+                + "  String name();\n"
+                + "}\n");
+        JavaFileObject avatar = JavaFileObjects.forSourceString("test.Avatar", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class Avatar implements Named {\n"
+                + "  public abstract int size();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.Embedded;\n"
+                + "import android.database.Cursor;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  @Embedded(prefix = \"avatar_\") public abstract Avatar avatar();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(Avatar avatar) {\n"
+                + "    super(avatar);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[2];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(\"avatar_name\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndexOrThrow(\"avatar_size\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    String avatarName = cursor.getString(columnIndices[0]);\n"
+                + "    int avatarSize = cursor.getInt(columnIndices[1]);\n"
+                + "    Avatar avatar = new AutoValue_Avatar(avatarName, avatarSize);\n"
+                + "    return new AutoValue_Test(avatar);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(named, avatar, source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void lenientNullableEmbedded() {
+        JavaFileObject avatar = JavaFileObjects.forSourceString("test.Avatar", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Avatar {\n"
+                + "  public abstract String url();\n"
+                + "  public abstract int size();\n"
+                + "  @Nullable public abstract String title();\n"
+                + "}\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.Embedded;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  @Nullable @Embedded(prefix = \"avatar_\") public abstract Avatar avatar();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.CursorErrors;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(Avatar avatar) {\n"
+                + "    super(avatar);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    int[] columnIndices = columnIndices(cursor);\n"
+                + "    AutoValue_Test value = columnIndices != null ? readRow(cursor, columnIndices) : null;\n"
+                + "    return value;\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[3];\n"
+                + "    columnIndices[0] = cursor.getColumnIndex(\"avatar_url\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndex(\"avatar_size\");\n"
+                + "    columnIndices[2] = cursor.getColumnIndex(\"avatar_title\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    Avatar avatar = null;\n"
+                + "    if (columnIndices[0] != -1 && !cursor.isNull(columnIndices[0]) || columnIndices[1] != -1 && !cursor.isNull(columnIndices[1]) || columnIndices[2] != -1 && !cursor.isNull(columnIndices[2])) {\n"
+                + "      if (columnIndices[0] == -1 || cursor.isNull(columnIndices[0])) {\n"
+                + "        CursorErrors.reportNullColumn(Test.class, \"avatar_url\", cursor.getPosition());\n"
+                + "        return null;\n"
+                + "      }\n"
+                + "      if (columnIndices[1] == -1 || cursor.isNull(columnIndices[1])) {\n"
+                + "        CursorErrors.reportNullColumn(Test.class, \"avatar_size\", cursor.getPosition());\n"
+                + "        return null;\n"
+                + "      }\n"
+                + "      String avatarUrl = cursor.getString(columnIndices[0]);\n"
+                + "      int avatarSize = cursor.getInt(columnIndices[1]);\n"
+                + "      int avatarTitleColumnIndex = columnIndices[2];\n"
+                + "      String avatarTitle = (avatarTitleColumnIndex == -1 || cursor.isNull(avatarTitleColumnIndex)) ? null : cursor.getString(avatarTitleColumnIndex);\n"
+                + "      avatar = new AutoValue_Avatar(avatarUrl, avatarSize, avatarTitle);\n"
+                + "    }\n"
+                + "    return new AutoValue_Test(avatar);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(avatar, source))
+                .withCompilerOptions("-Aautovaluecursor.lenient=true")
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void rowReaderWithOtherExtension() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.RowReader;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static final RowReader<Test> READER = AutoValue_Test.ROW_READER;\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract long id();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void columnPrefix() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.RowReader;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static final RowReader<Test> READER = AutoValue_Test.ROW_READER;\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public static Test blah(Cursor cursor, String prefix) { return null; }\n"
+                + "  public abstract long id();\n"
+                + "  @Nullable public abstract String name();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.RowReader;\n"
+                + "import java.lang.Override;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  static final RowReader<Test> ROW_READER = new RowReader<Test>() {\n"
+                + "    @Override\n"
+                + "    public int[] columnIndices(Cursor cursor, String prefix) {\n"
+                + "      return AutoValue_Test.columnIndices(cursor, prefix);\n"
+                + "    }\n"
+                + "    @Override\n"
+                + "    public Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "      return AutoValue_Test.readRow(cursor, columnIndices);\n"
+                + "    }\n"
+                + "  };\n"
+                + "  AutoValue_Test(long id, String name) {\n"
+                + "    super(id, name);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor, String prefix) {\n"
+                + "    return readRow(cursor, columnIndices(cursor, prefix));\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[2];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(\"id\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndex(\"name\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor, String prefix) {\n"
+                + "    int[] columnIndices = new int[2];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(prefix + \"id\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndex(prefix + \"name\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    long id = cursor.getLong(columnIndices[0]);\n"
+                + "    int nameColumnIndex = columnIndices[1];\n"
+                + "    String name = (nameColumnIndex == -1 || cursor.isNull(nameColumnIndex)) ? null : cursor.getString(nameColumnIndex);\n"
+                + "    return new AutoValue_Test(id, name);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void rangeFromCursor() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.List;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static List<Test> page(Cursor cursor, int start, int count) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.Math;\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a) {\n"
+                + "    super(a);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  static List<Test> createListFromCursor(Cursor cursor, int start, int count) {\n"
+                + "    int[] columnIndices = columnIndices(cursor);\n"
+                + "    List<Test> values = new ArrayList<Test>(Math.max(0, Math.min(count, cursor.getCount() - start)));\n"
+                + "    if (count > 0 && cursor.moveToPosition(start)) {\n"
+                + "      int remaining = count;\n"
+                + "      do {\n"
+                + "        values.add(readRow(cursor, columnIndices));\n"
+                + "      } while (--remaining > 0 && cursor.moveToNext());\n"
+                + "    }\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[1];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(\"a\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    int a = cursor.getInt(columnIndices[0]);\n"
+                + "    return new AutoValue_Test(a);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void listFromCursorAsync() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.List;\n"
+                + "import java.util.concurrent.Executor;\n"
+                + "import java.util.concurrent.Future;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Future<List<Test>> load(Cursor cursor, Executor executor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.CursorTask;\n"
+                + "import java.lang.Override;\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.List;\n"
+                + "import java.util.concurrent.Callable;\n"
+                + "import java.util.concurrent.Executor;\n"
+                + "import java.util.concurrent.Future;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a) {\n"
+                + "    super(a);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  static List<Test> createListFromCursor(Cursor cursor) {\n"
+                + "    int[] columnIndices = columnIndices(cursor);\n"
+                + "    List<Test> values = new ArrayList<Test>(cursor.getCount());\n"
+                + "    cursor.moveToPosition(-1);\n"
+                + "    while (cursor.moveToNext()) {\n"
+                + "      values.add(readRow(cursor, columnIndices));\n"
+                + "    }\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "  static Future<List<Test>> createListFromCursorAsync(final Cursor cursor, Executor executor) {\n"
+                + "    return CursorTask.execute(cursor, executor, new Callable<List<Test>>() {\n"
+                + "      @Override\n"
+                + "      public List<Test> call() {\n"
+                + "        return createListFromCursor(cursor);\n"
+                + "      }\n"
+                + "    });\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[1];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(\"a\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    int a = cursor.getInt(columnIndices[0]);\n"
+                + "    return new AutoValue_Test(a);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void columnDefault() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnDefault;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  @ColumnDefault(\"-1\") public abstract long a();\n"
+                + "  @ColumnDefault(\"1.5\") public abstract float b();\n"
+                + "  @ColumnDefault(\"true\") public abstract boolean c();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(long a, float b, boolean c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    int aColumnIndex = cursor.getColumnIndex(\"a\");\n"
+                + "    long a = (aColumnIndex == -1 || cursor.isNull(aColumnIndex)) ? -1L : cursor.getLong(aColumnIndex);\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");\n"
+                + "    float b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? 1.5f : cursor.getFloat(bColumnIndex);\n"
+                + "    int cColumnIndex = cursor.getColumnIndex(\"c\");\n"
+                + "    boolean c = (cColumnIndex == -1 || cursor.isNull(cColumnIndex)) ? true : cursor.getInt(cColumnIndex) == 1;\n"
+                + "    return new AutoValue_Test(a, b, c);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void columnDefaultResolvedOncePerCursor() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnDefault;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.List;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static List<Test> blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + "  @ColumnDefault(\"0\") public abstract int b();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, int b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  static List<Test> createListFromCursor(Cursor cursor) {\n"
+                + "    int[] columnIndices = columnIndices(cursor);\n"
+                + "    List<Test> values = new ArrayList<Test>(cursor.getCount());\n"
+                + "    cursor.moveToPosition(-1);\n"
+                + "    while (cursor.moveToNext()) {\n"
+                + "      values.add(readRow(cursor, columnIndices));\n"
+                + "    }\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[2];\n"
+                + "    columnIndices[0] = cursor.getColumnIndexOrThrow(\"a\");\n"
+                + "    columnIndices[1] = cursor.getColumnIndex(\"b\");\n"
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    int a = cursor.getInt(columnIndices[0]);\n"
+                + "    int bColumnIndex = columnIndices[1];\n"
+                + "    int b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? 0 : cursor.getInt(bColumnIndex);\n"
+                + "    return new AutoValue_Test(a, b);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void columnDefaultOfWrongType() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnDefault;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  @ColumnDefault(\"1.5\") public abstract int a();\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .failsToCompile()
+                .withErrorContaining("@ColumnDefault requires a primitive property and a constant of its type.");
+    }
+
+    @Test
+    public void columnStorageOfWrongType() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnStorage;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  @Nullable @ColumnStorage(ColumnStorage.StorageClass.BLOB) public abstract String a();\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .failsToCompile()
+                .withErrorContaining("Property has type that can't be stored in the @ColumnStorage class.");
+    }
+
+    @Test
+    public void dedupeOfNonStringProperty() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.Dedupe;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  @Dedupe public abstract int a();\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .failsToCompile()
+                .withErrorContaining("@Dedupe requires a String property.");
+    }
+
+    @Test
+    public void dedupeWithoutPositiveSize() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.Dedupe;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  @Dedupe(size = 0) public abstract String a();\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .failsToCompile()
+                .withErrorContaining("@Dedupe requires a positive size.");
+    }
+
     @Test
     public void nullableColumnName() {
         JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
@@ -166,7 +1564,7 @@ public class AutoValueCursorExtensionTest {
                 + "import android.database.Cursor;\n"
                 + "@AutoValue public abstract class Test {\n"
                 + "  public static Test blah(Cursor cursor) { return null; }\n"
-                + "  public abstract int[] a();\n"
+                + "  public abstract char[] a();\n"
                 + "  public abstract String b();\n"
                 + "}\n");
 
@@ -186,7 +1584,7 @@ public class AutoValueCursorExtensionTest {
                 + "import javax.annotation.Nullable;\n"
                 + "@AutoValue public abstract class Test {\n"
                 + "  public static Test blah(Cursor cursor) { return null; }\n"
-                + "  @Nullable public abstract int[] a();\n"
+                + "  @Nullable public abstract char[] a();\n"
                 + "  public abstract String b();\n"
                 + "}\n");
 
@@ -195,11 +1593,11 @@ public class AutoValueCursorExtensionTest {
                 + "import android.database.Cursor;\n"
                 + "import java.lang.String;\n"
                 + "final class AutoValue_Test extends $AutoValue_Test {\n"
-                + "  AutoValue_Test(int[] a, String b) {\n"
+                + "  AutoValue_Test(char[] a, String b) {\n"
                 + "    super(a, b);\n"
                 + "  }\n"
                 + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
-                + "    int[] a = null; // can't be read from cursor\n"
+                + "    char[] a = null; // can't be read from cursor\n"
                 + "    String b = cursor.getString(cursor.getColumnIndexOrThrow(\"b\"));\n"
                 + "    return new AutoValue_Test(a, b);\n"
                 + "  }\n"
@@ -278,6 +1676,161 @@ public class AutoValueCursorExtensionTest {
                 .generatesSources(expected);
     }
 
+    @Test
+    public void splitsWideReadMethod() {
+        StringBuilder properties = new StringBuilder();
+        StringBuilder parameters = new StringBuilder("int a");
+        StringBuilder arguments = new StringBuilder("a");
+        StringBuilder values = new StringBuilder("values.a");
+        StringBuilder fields = new StringBuilder("    int a;\n");
+        StringBuilder readColumns0 = new StringBuilder(""
+                + "  private static void readColumns0(Cursor cursor, RowValues values) {\n"
+                + "    int a = cursor.getInt(cursor.getColumnIndexOrThrow(\"a\"));\n"
+                + "    values.a = a;\n");
+        StringBuilder readColumns1 = new StringBuilder(""
+                + "  private static void readColumns1(Cursor cursor, RowValues values) {\n");
+        for (int i = 0; i < 45; i++) {
+            properties.append("  @Nullable public abstract String c").append(i).append("();\n");
+            parameters.append(", String c").append(i);
+            arguments.append(", c").append(i);
+            values.append(", values.c").append(i);
+            fields.append("    String c").append(i).append(";\n");
+            // the first 44 columns fill the estimated size of the first method
+            (i < 44 ? readColumns0 : readColumns1).append(""
+                    + "    int c" + i + "ColumnIndex = cursor.getColumnIndex(\"c" + i + "\");\n"
+                    + "    String c" + i + " = (c" + i + "ColumnIndex == -1 || cursor.isNull(c" + i + "ColumnIndex))"
+                    + " ? null : cursor.getString(c" + i + "ColumnIndex);\n"
+                    + "    values.c" + i + " = c" + i + ";\n");
+        }
+
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static Test blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + properties
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(" + parameters + ") {\n"
+                + "    super(" + arguments + ");\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    RowValues values = new RowValues();\n"
+                + "    readColumns0(cursor, values);\n"
+                + "    readColumns1(cursor, values);\n"
+                + "    return new AutoValue_Test(" + values + ");\n"
+                + "  }\n"
+                + readColumns0 + "  }\n"
+                + readColumns1 + "  }\n"
+                + "  private static final class RowValues {\n"
+                + fields
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void splitsWideReadRow() {
+        StringBuilder properties = new StringBuilder();
+        StringBuilder parameters = new StringBuilder("int a");
+        StringBuilder arguments = new StringBuilder("a");
+        StringBuilder values = new StringBuilder("values.a");
+        StringBuilder fields = new StringBuilder("    int a;\n");
+        StringBuilder indices = new StringBuilder("    columnIndices[0] = cursor.getColumnIndexOrThrow(\"a\");\n");
+        StringBuilder readColumns0 = new StringBuilder(""
+                + "  private static void readColumns0(Cursor cursor, int[] columnIndices, RowValues values) {\n"
+                + "    int a = cursor.getInt(columnIndices[0]);\n"
+                + "    values.a = a;\n");
+        StringBuilder readColumns1 = new StringBuilder(""
+                + "  private static void readColumns1(Cursor cursor, int[] columnIndices, RowValues values) {\n");
+        for (int i = 0; i < 50; i++) {
+            properties.append("  @Nullable public abstract String c").append(i).append("();\n");
+            parameters.append(", String c").append(i);
+            arguments.append(", c").append(i);
+            values.append(", values.c").append(i);
+            fields.append("    String c").append(i).append(";\n");
+            indices.append("    columnIndices[" + (i + 1) + "] = cursor.getColumnIndex(\"c" + i + "\");\n");
+            (i < 44 ? readColumns0 : readColumns1).append(""
+                    + "    int c" + i + "ColumnIndex = columnIndices[" + (i + 1) + "];\n"
+                    + "    String c" + i + " = (c" + i + "ColumnIndex == -1 || cursor.isNull(c" + i + "ColumnIndex))"
+                    + " ? null : cursor.getString(c" + i + "ColumnIndex);\n"
+                    + "    values.c" + i + " = c" + i + ";\n");
+        }
+
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.util.List;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static List<Test> blah(Cursor cursor) { return null; }\n"
+                + "  public abstract int a();\n"
+                + properties
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.String;\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.List;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(" + parameters + ") {\n"
+                + "    super(" + arguments + ");\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    return readRow(cursor, columnIndices(cursor));\n"
+                + "  }\n"
+                + "  static List<Test> createListFromCursor(Cursor cursor) {\n"
+                + "    int[] columnIndices = columnIndices(cursor);\n"
+                + "    List<Test> values = new ArrayList<Test>(cursor.getCount());\n"
+                + "    cursor.moveToPosition(-1);\n"
+                + "    while (cursor.moveToNext()) {\n"
+                + "      values.add(readRow(cursor, columnIndices));\n"
+                + "    }\n"
+                + "    return values;\n"
+                + "  }\n"
+                + "  private static int[] columnIndices(Cursor cursor) {\n"
+                + "    int[] columnIndices = new int[51];\n"
+                + indices
+                + "    return columnIndices;\n"
+                + "  }\n"
+                + "  private static AutoValue_Test readRow(Cursor cursor, int[] columnIndices) {\n"
+                + "    RowValues values = new RowValues();\n"
+                + "    readColumns0(cursor, columnIndices, values);\n"
+                + "    readColumns1(cursor, columnIndices, values);\n"
+                + "    return new AutoValue_Test(" + values + ");\n"
+                + "  }\n"
+                + readColumns0 + "  }\n"
+                + readColumns1 + "  }\n"
+                + "  private static final class RowValues {\n"
+                + fields
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
     @Test
     public void cursorAdapter() {
         JavaFileObject fooClass = JavaFileObjects.forSourceString("test.Foo", ""
@@ -349,6 +1902,211 @@ public class AutoValueCursorExtensionTest {
                 .generatesSources(expected);
     }
 
+    @Test
+    public void copyRowToContentValues() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static void copy(Cursor cursor, ContentValues values) {}\n"
+                + "  public abstract int a();\n"
+                + "  @Nullable public abstract String b();\n"
+                + "  public abstract boolean c();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, String b, boolean c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    int a = cursor.getInt(cursor.getColumnIndexOrThrow(\"a\"));\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");"
+                + "    String b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : cursor.getString(bColumnIndex);\n"
+                + "    boolean c = cursor.getInt(cursor.getColumnIndexOrThrow(\"c\")) == 1;\n"
+                + "    return new AutoValue_Test(a, b, c);\n"
+                + "  }\n"
+                + "  static void copyRow(Cursor cursor, ContentValues values) {\n"
+                + "    values.put(\"a\", cursor.getInt(cursor.getColumnIndexOrThrow(\"a\")));\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");"
+                + "    if (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) {\n"
+                + "      values.putNull(\"b\");\n"
+                + "    } else {\n"
+                + "      values.put(\"b\", cursor.getString(bColumnIndex));\n"
+                + "    }\n"
+                + "    values.put(\"c\", cursor.getInt(cursor.getColumnIndexOrThrow(\"c\")) == 1);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void copyRowToStatement() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import android.database.Cursor;\n"
+                + "import android.database.sqlite.SQLiteStatement;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static void copy(Cursor cursor, SQLiteStatement statement) {}\n"
+                + "  public abstract int a();\n"
+                + "  @Nullable public abstract String b();\n"
+                + "  public abstract float c();\n"
+                + "  public abstract byte[] d();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import android.database.sqlite.SQLiteStatement;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, String b, float c, byte[] d) {\n"
+                + "    super(a, b, c, d);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    int a = cursor.getInt(cursor.getColumnIndexOrThrow(\"a\"));\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");"
+                + "    String b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? null : cursor.getString(bColumnIndex);\n"
+                + "    float c = cursor.getFloat(cursor.getColumnIndexOrThrow(\"c\"));\n"
+                + "    byte[] d = cursor.getBlob(cursor.getColumnIndexOrThrow(\"d\"));\n"
+                + "    return new AutoValue_Test(a, b, c, d);\n"
+                + "  }\n"
+                + "  static void copyRow(Cursor cursor, SQLiteStatement statement) {\n"
+                + "    statement.bindLong(1, cursor.getLong(cursor.getColumnIndexOrThrow(\"a\")));\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");"
+                + "    if (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) {\n"
+                + "      statement.bindNull(2);\n"
+                + "    } else {\n"
+                + "      statement.bindString(2, cursor.getString(bColumnIndex));\n"
+                + "    }\n"
+                + "    statement.bindDouble(3, cursor.getDouble(cursor.getColumnIndexOrThrow(\"c\")));\n"
+                + "    statement.bindBlob(4, cursor.getBlob(cursor.getColumnIndexOrThrow(\"d\")));\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void copyRowWithColumnDefault() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnDefault;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "import android.database.sqlite.SQLiteStatement;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static void copy(Cursor cursor, ContentValues values) {}\n"
+                + "  public static void copy(Cursor cursor, SQLiteStatement statement) {}\n"
+                + "  @ColumnDefault(\"7\") public abstract int a();\n"
+                + "  @ColumnDefault(\"true\") public abstract boolean b();\n"
+                + "  @ColumnDefault(\"9223372036854775807\") public abstract long c();\n"
+                + "  @ColumnDefault(\"1.5\") public abstract float d();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "import android.database.sqlite.SQLiteStatement;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  AutoValue_Test(int a, boolean b, long c, float d) {\n"
+                + "    super(a, b, c, d);\n"
+                + "  }\n"
+                + "  static AutoValue_Test createFromCursor(Cursor cursor) {\n"
+                + "    int aColumnIndex = cursor.getColumnIndex(\"a\");\n"
+                + "    int a = (aColumnIndex == -1 || cursor.isNull(aColumnIndex)) ? 7 : cursor.getInt(aColumnIndex);\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");\n"
+                + "    boolean b = (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) ? true : cursor.getInt(bColumnIndex) == 1;\n"
+                + "    int cColumnIndex = cursor.getColumnIndex(\"c\");\n"
+                + "    long c = (cColumnIndex == -1 || cursor.isNull(cColumnIndex)) ? 9223372036854775807L : cursor.getLong(cColumnIndex);\n"
+                + "    int dColumnIndex = cursor.getColumnIndex(\"d\");\n"
+                + "    float d = (dColumnIndex == -1 || cursor.isNull(dColumnIndex)) ? 1.5f : cursor.getFloat(dColumnIndex);\n"
+                + "    return new AutoValue_Test(a, b, c, d);\n"
+                + "  }\n"
+                + "  static void copyRow(Cursor cursor, ContentValues values) {\n"
+                + "    int aColumnIndex = cursor.getColumnIndex(\"a\");\n"
+                + "    if (aColumnIndex == -1 || cursor.isNull(aColumnIndex)) {\n"
+                + "      values.put(\"a\", 7);\n"
+                + "    } else {\n"
+                + "      values.put(\"a\", cursor.getInt(aColumnIndex));\n"
+                + "    }\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");\n"
+                + "    if (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) {\n"
+                + "      values.put(\"b\", true);\n"
+                + "    } else {\n"
+                + "      values.put(\"b\", cursor.getInt(bColumnIndex) == 1);\n"
+                + "    }\n"
+                + "    int cColumnIndex = cursor.getColumnIndex(\"c\");\n"
+                + "    if (cColumnIndex == -1 || cursor.isNull(cColumnIndex)) {\n"
+                + "      values.put(\"c\", 9223372036854775807L);\n"
+                + "    } else {\n"
+                + "      values.put(\"c\", cursor.getLong(cColumnIndex));\n"
+                + "    }\n"
+                + "    int dColumnIndex = cursor.getColumnIndex(\"d\");\n"
+                + "    if (dColumnIndex == -1 || cursor.isNull(dColumnIndex)) {\n"
+                + "      values.put(\"d\", 1.5f);\n"
+                + "    } else {\n"
+                + "      values.put(\"d\", cursor.getFloat(dColumnIndex));\n"
+                + "    }\n"
+                + "  }\n"
+                + "  static void copyRow(Cursor cursor, SQLiteStatement statement) {\n"
+                + "    int aColumnIndex = cursor.getColumnIndex(\"a\");\n"
+                + "    if (aColumnIndex == -1 || cursor.isNull(aColumnIndex)) {\n"
+                + "      statement.bindLong(1, 7);\n"
+                + "    } else {\n"
+                + "      statement.bindLong(1, cursor.getLong(aColumnIndex));\n"
+                + "    }\n"
+                + "    int bColumnIndex = cursor.getColumnIndex(\"b\");\n"
+                + "    if (bColumnIndex == -1 || cursor.isNull(bColumnIndex)) {\n"
+                + "      statement.bindLong(2, 1L);\n"
+                + "    } else {\n"
+                + "      statement.bindLong(2, cursor.getLong(bColumnIndex));\n"
+                + "    }\n"
+                + "    int cColumnIndex = cursor.getColumnIndex(\"c\");\n"
+                + "    if (cColumnIndex == -1 || cursor.isNull(cColumnIndex)) {\n"
+                + "      statement.bindLong(3, 9223372036854775807L);\n"
+                + "    } else {\n"
+                + "      statement.bindLong(3, cursor.getLong(cColumnIndex));\n"
+                + "    }\n"
+                + "    int dColumnIndex = cursor.getColumnIndex(\"d\");\n"
+                + "    if (dColumnIndex == -1 || cursor.isNull(dColumnIndex)) {\n"
+                + "      statement.bindDouble(4, 1.5f);\n"
+                + "    } else {\n"
+                + "      statement.bindDouble(4, cursor.getDouble(dColumnIndex));\n"
+                + "    }\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
     @Test
     // don't generate anything RxJava specific just because it's on the classpath
     public void rxjava2() {
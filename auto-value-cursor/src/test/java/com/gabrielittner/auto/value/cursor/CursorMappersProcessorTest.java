@@ -0,0 +1,133 @@
+package com.gabrielittner.auto.value.cursor;
+
+import com.google.auto.value.processor.AutoValueProcessor;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import java.util.Arrays;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+
+public class CursorMappersProcessorTest {
+
+    @Test
+    public void registry() {
+        JavaFileObject user = JavaFileObjects.forSourceString("test.User", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class User {\n"
+                + "  public static User create(Cursor cursor) {\n"
+                + "    return AutoValue_User.createFromCursor(cursor);\n"
+                + "  }\n"
+                + "  public abstract String id();\n"
+                + "  public abstract ContentValues toContentValues();\n"
+                + "}\n");
+        JavaFileObject team = JavaFileObjects.forSourceString("test.model.Team", ""
+                + "package test.model;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class Team {\n"
+                + "  public static Team create(Cursor cursor) {\n"
+                + "    return AutoValue_Team.createFromCursor(cursor);\n"
+                + "  }\n"
+                + "  public abstract String id();\n"
+                + "}\n");
+        JavaFileObject hidden = JavaFileObjects.forSourceString("test.model.Hidden", ""
+                + "package test.model;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue abstract class Hidden {\n"
+                + "  static Hidden create(Cursor cursor) {\n"
+                + "    return AutoValue_Hidden.createFromCursor(cursor);\n"
+                + "  }\n"
+                + "  public abstract String id();\n"
+                + "}\n");
+        JavaFileObject unrelated = JavaFileObjects.forSourceString("test.Unrelated", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class Unrelated {\n"
+                + "  public abstract String id();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.CursorMappers", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "import java.lang.Class;\n"
+                + "import java.lang.IllegalArgumentException;\n"
+                + "import java.lang.Integer;\n"
+                + "import java.lang.SuppressWarnings;\n"
+                + "import java.util.IdentityHashMap;\n"
+                + "import test.model.Team;\n"
+                + "public final class CursorMappers {\n"
+                + "  private static final IdentityHashMap<Class<?>, Integer> INDICES = new IdentityHashMap<Class<?>, Integer>(2);\n"
+                + "  static {\n"
+                + "    INDICES.put(User.class, 0);\n"
+                + "    INDICES.put(Team.class, 1);\n"
+                + "  }\n"
+                + "  private CursorMappers() {\n"
+                + "  }\n"
+                + "  @SuppressWarnings(\"unchecked\")\n"
+                + "  public static <T> T createFromCursor(Class<T> type, Cursor cursor) {\n"
+                + "    switch (indexOf(type)) {\n"
+                + "      case 0: return (T) User.create(cursor);\n"
+                + "      case 1: return (T) Team.create(cursor);\n"
+                + "      default: throw new IllegalArgumentException(\"No cursor reader for \" + type);\n"
+                + "    }\n"
+                + "  }\n"
+                + "  public static <T> ContentValues toContentValues(Class<T> type, T value) {\n"
+                + "    switch (indexOf(type)) {\n"
+                + "      case 0: return ((User) value).toContentValues();\n"
+                + "      default: throw new IllegalArgumentException(\"No ContentValues writer for \" + type);\n"
+                + "    }\n"
+                + "  }\n"
+                + "  private static int indexOf(Class<?> type) {\n"
+                + "    Integer index = INDICES.get(type);\n"
+                + "    return index != null ? index : -1;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(user, team, hidden, unrelated))
+                .withCompilerOptions("-Aautovaluecursor.registry=test.CursorMappers")
+                .processedWith(new AutoValueProcessor(), new CursorMappersProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(user, team, hidden, unrelated))
+                .withCompilerOptions("-Aautovaluecursor.registry=test.CursorMappers")
+                .processedWith(new AutoValueProcessor(), new CursorMappersProcessor())
+                .compilesWithoutError()
+                .withWarningContaining("Value class isn't accessible from test.CursorMappers")
+                .in(hidden);
+    }
+
+    @Test
+    public void disabledWithoutOption() {
+        JavaFileObject user = JavaFileObjects.forSourceString("test.User", ""
+                + "package test;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class User {\n"
+                + "  public static User create(Cursor cursor) {\n"
+                + "    return AutoValue_User.createFromCursor(cursor);\n"
+                + "  }\n"
+                + "  public abstract String id();\n"
+                + "}\n");
+
+        Compilation compilation = javac()
+                .withProcessors(new AutoValueProcessor(), new CursorMappersProcessor())
+                .compile(user);
+        assertThat(compilation).succeeded();
+        assertThat(compilation.generatedSourceFile("test.CursorMappers").isPresent()).isFalse();
+    }
+}
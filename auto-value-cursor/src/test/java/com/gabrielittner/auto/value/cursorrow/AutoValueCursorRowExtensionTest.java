@@ -0,0 +1,234 @@
+package com.gabrielittner.auto.value.cursorrow;
+
+import com.google.auto.value.processor.AutoValueProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+
+public class AutoValueCursorRowExtensionTest {
+
+    @Test
+    public void toCursorRow() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public abstract int a();\n"
+                + "  @Nullable @ColumnName(\"column_b\") public abstract String b();\n"
+                + "  public abstract Object[] toCursorRow(Object[] reuse);\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import java.lang.Object;\n"
+                + "import java.lang.Override;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  static final String[] COLUMN_NAMES = {\"a\", \"column_b\"};\n"
+                + "  AutoValue_Test(int a, String b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public Object[] toCursorRow(Object[] reuse) {\n"
+                + "    Object[] row = reuse != null && reuse.length == 2 ? reuse : new Object[2];\n"
+                + "    row[0] = a();\n"
+                + "    row[1] = b();\n"
+                + "    return row;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void addToMatrixCursor() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import android.database.MatrixCursor;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public abstract String a();\n"
+                + "  public abstract boolean b();\n"
+                + "  @Nullable public abstract Boolean c();\n"
+                + "  public abstract void addTo(MatrixCursor cursor);\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.database.MatrixCursor;\n"
+                + "import java.lang.Boolean;\n"
+                + "import java.lang.Override;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  static final String[] COLUMN_NAMES = {\"a\", \"b\", \"c\"};\n"
+                + "  AutoValue_Test(String a, boolean b, Boolean c) {\n"
+                + "    super(a, b, c);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public void addTo(MatrixCursor cursor) {\n"
+                + "    MatrixCursor.RowBuilder row = cursor.newRow();\n"
+                + "    row.add(a());\n"
+                + "    row.add(b() ? 1 : 0);\n"
+                + "    row.add(c() == null ? null : (c() ? 1 : 0));\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void columnAdapter() {
+        JavaFileObject adapterSource = JavaFileObjects.forSourceString("test.Adapter", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import android.database.Cursor;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnTypeAdapter;\n"
+                + "public class Adapter implements ColumnTypeAdapter<String> {\n"
+                + "  public String fromCursor(Cursor cursor, String columnName) {\n"
+                + "    return cursor.getString(cursor.getColumnIndex(columnName));\n"
+                + "  }\n"
+                + "  public void toContentValues(ContentValues values, String columnName, String value) {\n"
+                + "    values.put(columnName, value);\n"
+                + "  }\n"
+                + "}\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnAdapter;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public abstract int a();\n"
+                + "  @ColumnAdapter(Adapter.class) public abstract String b();\n"
+                + "  public abstract Object[] toCursorRow(Object[] reuse);\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import android.content.ContentValues;\n"
+                + "import java.lang.Object;\n"
+                + "import java.lang.Override;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  static final String[] COLUMN_NAMES = {\"a\", \"b\"};\n"
+                + "  AutoValue_Test(int a, String b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "  @Override\n"
+                + "  public Object[] toCursorRow(Object[] reuse) {\n"
+                + "    Object[] row = reuse != null && reuse.length == 2 ? reuse : new Object[2];\n"
+                + "    Adapter adapter = new Adapter();\n"
+                + "    ContentValues values = new ContentValues();\n"
+                + "    row[0] = a();\n"
+                + "    values.clear();\n"
+                + "    adapter.toContentValues(values, \"b\", b());\n"
+                + "    row[1] = values.get(\"b\");\n"
+                + "    return row;\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(adapterSource, source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void columnNamesOfEmbeddedProperty() {
+        JavaFileObject avatar = JavaFileObjects.forSourceString("test.Avatar", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class Avatar {\n"
+                + "  public abstract String url();\n"
+                + "  public abstract int size();\n"
+                + "}\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.Embedded;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public static final String[] PROJECTION = {\"a\"};\n"
+                + "  public static final String[] COLUMN_NAMES = AutoValue_Test.COLUMN_NAMES;\n"
+                + "  public abstract int a();\n"
+                + "  @Embedded(prefix = \"avatar_\") public abstract Avatar avatar();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  static final String[] COLUMN_NAMES = {\"a\", \"avatar_url\", \"avatar_size\"};\n"
+                + "  AutoValue_Test(int a, Avatar avatar) {\n"
+                + "    super(a, avatar);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(avatar, source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void unsupported() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public abstract char[] a();\n"
+                + "  public abstract Object[] toCursorRow(Object[] reuse);\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .failsToCompile()
+                .withErrorContaining("Property has type that can't be added to a cursor row.");
+    }
+
+    @Test
+    public void embeddedPropertyInCursorRow() {
+        JavaFileObject avatar = JavaFileObjects.forSourceString("test.Avatar", ""
+                + "package test;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class Avatar {\n"
+                + "  public abstract String url();\n"
+                + "  public abstract int size();\n"
+                + "}\n");
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.Embedded;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue public abstract class Test {\n"
+                + "  public abstract int a();\n"
+                + "  @Embedded(prefix = \"avatar_\") public abstract Avatar avatar();\n"
+                + "  public abstract Object[] toCursorRow(Object[] reuse);\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Arrays.asList(avatar, source))
+                .processedWith(new AutoValueProcessor())
+                .failsToCompile()
+                .withErrorContaining("Embedded property can't be added to a cursor row.");
+    }
+}
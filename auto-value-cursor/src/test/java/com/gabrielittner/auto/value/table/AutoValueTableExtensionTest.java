@@ -0,0 +1,139 @@
+package com.gabrielittner.auto.value.table;
+
+import com.google.auto.value.processor.AutoValueProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import java.util.Collections;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+
+public class AutoValueTableExtensionTest {
+
+    @Test
+    public void createTable() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnDefault;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnName;\n"
+                + "import com.gabrielittner.auto.value.cursor.Indexed;\n"
+                + "import com.gabrielittner.auto.value.cursor.PrimaryKey;\n"
+                + "import com.gabrielittner.auto.value.cursor.TableName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "import javax.annotation.Nullable;\n"
+                + "@AutoValue @TableName(\"test\") public abstract class Test {\n"
+                + "  public static final String CREATE_TABLE = AutoValue_Test.CREATE_TABLE;\n"
+                + "  @PrimaryKey(autoIncrement = true) @ColumnName(\"_id\") public abstract long id();\n"
+                + "  @Indexed(unique = true) public abstract String a();\n"
+                + "  @Nullable @Indexed public abstract Double b();\n"
+                + "  @ColumnDefault(\"false\") public abstract boolean c();\n"
+                + "  @Nullable public abstract byte[] d();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import java.lang.Double;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  static final String CREATE_TABLE = \"CREATE TABLE \\\"test\\\" (\\\"_id\\\" INTEGER NOT NULL"
+                + " PRIMARY KEY AUTOINCREMENT, \\\"a\\\" TEXT NOT NULL, \\\"b\\\" REAL, \\\"c\\\" INTEGER NOT NULL DEFAULT 0, \\\"d\\\" BLOB)\";\n"
+                + "  static final String[] CREATE_INDICES = {\"CREATE UNIQUE INDEX \\\"test_a\\\" ON \\\"test\\\" (\\\"a\\\")\","
+                + " \"CREATE INDEX \\\"test_b\\\" ON \\\"test\\\" (\\\"b\\\")\"};\n"
+                + "  AutoValue_Test(long id, String a, Double b, boolean c, byte[] d) {\n"
+                + "    super(id, a, b, c, d);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void compositePrimaryKey() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.PrimaryKey;\n"
+                + "import com.gabrielittner.auto.value.cursor.TableName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue @TableName(\"test\") public abstract class Test {\n"
+                + "  public static final String CREATE_TABLE = AutoValue_Test.CREATE_TABLE;\n"
+                + "  @PrimaryKey public abstract int a();\n"
+                + "  @PrimaryKey public abstract String b();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  static final String CREATE_TABLE = \"CREATE TABLE \\\"test\\\" (\\\"a\\\" INTEGER NOT NULL, \\\"b\\\" TEXT NOT NULL, PRIMARY KEY (\\\"a\\\", \\\"b\\\"))\";\n"
+                + "  static final String[] CREATE_INDICES = {};\n"
+                + "  AutoValue_Test(int a, String b) {\n"
+                + "    super(a, b);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void quotesReservedNames() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.ColumnName;\n"
+                + "import com.gabrielittner.auto.value.cursor.Indexed;\n"
+                + "import com.gabrielittner.auto.value.cursor.TableName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue @TableName(\"order item\") public abstract class Test {\n"
+                + "  public static final String CREATE_TABLE = AutoValue_Test.CREATE_TABLE;\n"
+                + "  public static final String[] CREATE_INDICES = AutoValue_Test.CREATE_INDICES;\n"
+                + "  @Indexed(unique = true) @ColumnName(\"group\") public abstract String a();\n"
+                + "}\n");
+
+        JavaFileObject expected = JavaFileObjects.forSourceString("test.AutoValue_Test", ""
+                + "package test;\n"
+                + "import java.lang.String;\n"
+                + "final class AutoValue_Test extends $AutoValue_Test {\n"
+                + "  static final String CREATE_TABLE = \"CREATE TABLE \\\"order item\\\" (\\\"group\\\" TEXT NOT NULL)\";\n"
+                + "  static final String[] CREATE_INDICES = {\"CREATE UNIQUE INDEX \\\"order item_group\\\" ON \\\"order item\\\" (\\\"group\\\")\"};\n"
+                + "  AutoValue_Test(String a) {\n"
+                + "    super(a);\n"
+                + "  }\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expected);
+    }
+
+    @Test
+    public void autoIncrementRequiresInteger() {
+        JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+                + "package test;\n"
+                + "import com.gabrielittner.auto.value.cursor.PrimaryKey;\n"
+                + "import com.gabrielittner.auto.value.cursor.TableName;\n"
+                + "import com.google.auto.value.AutoValue;\n"
+                + "@AutoValue @TableName(\"test\") public abstract class Test {\n"
+                + "  public static final String CREATE_TABLE = \"\";\n"
+                + "  @PrimaryKey(autoIncrement = true) public abstract String a();\n"
+                + "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(source))
+                .processedWith(new AutoValueProcessor())
+                .failsToCompile()
+                .withErrorContaining("Only INTEGER primary keys can use AUTOINCREMENT.");
+    }
+}